@@ -0,0 +1,50 @@
+package fr.ul.miashs;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Débit des algorithmes d'ordonnancement du disque : listes de requêtes traitées par seconde,
+// construction du GestionDisque comprise (comme dans l'ordonnanceur en fin de simulation).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GestionDisqueBenchmark {
+
+    @Param({"fifo", "ssf", "scan", "cscan", "look", "clook", "nstep", "fscan", "deadline"})
+    public String algorithme;
+
+    @Param({"100", "1000", "10000"})
+    public int requetes;
+
+    private ListeEntiers pistes;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        SplittableRandom aleatoire = new SplittableRandom(42);
+        pistes = new ListeEntiers(requetes);
+        for (int i = 0; i < requetes; i++) {
+            pistes.ajouter(aleatoire.nextInt(200));
+        }
+    }
+
+    @Benchmark
+    public ResultatDisque ordonnancer() {
+        return new GestionDisque(pistes, 0, "droite", 200).executer(algorithme);
+    }
+}
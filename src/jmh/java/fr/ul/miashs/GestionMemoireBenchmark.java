@@ -0,0 +1,137 @@
+package fr.ul.miashs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+
+// Débit de GestionMemoire.accederPage : accès par seconde pour chaque algorithme de remplacement,
+// avec le détail succès / défauts (compteurs auxiliaires). Chaque invocation rejoue une suite de
+// références entrelacées entre les processus sur une gestion mémoire neuve.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GestionMemoireBenchmark {
+    static final int NOMBRE_ACCES = 1 << 16;
+    private static final int TAILLE_RAFALE = 16; // accès consécutifs d'un même processus
+
+    @Param({"FIFO", "NRU", "SECONDE_CHANCE", "OPTIMAL", "LRU", "LFU", "ARC", "WSCLOCK"})
+    public String algorithme;
+
+    @Param({"8", "64"})
+    public int cadres;
+
+    @Param({"1", "16"})
+    public int processus;
+
+    @Param({"uniforme", "zipf", "sequentiel", "boucle"})
+    public String motif;
+
+    private int[] processusAcces;
+    private int[] pagesAcces;
+    private boolean[] ecritures;
+    private int[][] pagesParProcessus; // références de chaque processus dans l'ordre des accès (OPTIMAL)
+
+    // Succès et défauts, rapportés par seconde à côté du débit des accès
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Compteurs {
+        public long succes;
+        public long defauts;
+
+        @Setup(Level.Iteration)
+        public void remettreAZero() {
+            succes = 0;
+            defauts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        // Références produites par le générateur de charge : uniquement des lectures
+        GenerateurCharge.Parametres parametres = new GenerateurCharge.Parametres();
+        parametres.nombreProcessus = processus;
+        parametres.instructionsMoyen = NOMBRE_ACCES / processus;
+        parametres.proportionCalcul = 0;
+        parametres.proportionEcriture = 0;
+        parametres.proportionDormir = 0;
+        parametres.pages = motif;
+        parametres.nombrePages = 4 * cadres;
+        GenerateurCharge generateur = new GenerateurCharge(parametres);
+        int[][] references = new int[processus][];
+        for (int p = 0; p < processus; p++) {
+            Processus suivant = generateur.suivant();
+            references[p] = suivant.referencesPages();
+        }
+
+        // Entrelacement par rafales, comme le ferait l'ordonnanceur, jusqu'à NOMBRE_ACCES accès
+        processusAcces = new int[NOMBRE_ACCES];
+        pagesAcces = new int[NOMBRE_ACCES];
+        ecritures = new boolean[NOMBRE_ACCES];
+        int[] curseurs = new int[processus];
+        int n = 0;
+        for (int p = 0; n < NOMBRE_ACCES; p = (p + 1) % processus) {
+            for (int k = 0; k < TAILLE_RAFALE && n < NOMBRE_ACCES; k++) {
+                int[] pages = references[p];
+                processusAcces[n] = p;
+                pagesAcces[n] = pages[curseurs[p]++ % pages.length];
+                ecritures[n] = (n & 7) == 0;
+                n++;
+            }
+        }
+        pagesParProcessus = new int[processus][];
+        for (int p = 0; p < processus; p++) {
+            pagesParProcessus[p] = pagesDe(p);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_ACCES)
+    public int accederPage(Compteurs compteurs) {
+        GestionMemoire memoire = new GestionMemoire(cadres * processus, cadres, true, algorithme, 50);
+        for (int p = 0; p < processus; p++) {
+            int numero = memoire.enregistrerProcessus(Integer.toString(p + 1));
+            if (algorithme.equals("OPTIMAL")) {
+                memoire.definirReferences(numero, pagesParProcessus[p]);
+            }
+        }
+        for (int i = 0; i < NOMBRE_ACCES; i++) {
+            if (i % 1024 == 0) memoire.interruptionHorloge();
+            memoire.accederPage(processusAcces[i], pagesAcces[i], ecritures[i]);
+        }
+        compteurs.defauts += memoire.getDefautsDePage();
+        compteurs.succes += memoire.getNombreAcces() - memoire.getDefautsDePage();
+        return memoire.getDefautsDePage();
+    }
+
+    // Pages du processus p dans l'ordre où elles sont effectivement référencées
+    private int[] pagesDe(int p) {
+        int nombre = 0;
+        for (int i = 0; i < NOMBRE_ACCES; i++) {
+            if (processusAcces[i] == p) nombre++;
+        }
+        int[] pages = new int[nombre];
+        nombre = 0;
+        for (int i = 0; i < NOMBRE_ACCES; i++) {
+            if (processusAcces[i] == p) pages[nombre++] = pagesAcces[i];
+        }
+        return pages;
+    }
+}
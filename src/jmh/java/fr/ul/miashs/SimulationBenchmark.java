@@ -0,0 +1,81 @@
+package fr.ul.miashs;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Simulation complète d'une charge synthétique, sans trace ni rapport : simulations par seconde et,
+// en compteur auxiliaire, événements simulés par seconde (la mesure à suivre d'une version à l'autre).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulationBenchmark {
+
+    @Param({"FIFO", "RR", "SRTF"})
+    public String ordonnancement;
+
+    @Param({"1", "4"})
+    public int processeurs;
+
+    @Param({"1000", "10000"})
+    public int processus;
+
+    @Param({"FIFO", "LRU"})
+    public String pagination;
+
+    @Param({"uniforme", "boucle"})
+    public String motif;
+
+    private Configuration configuration;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Compteurs {
+        public long evenements;
+
+        @Setup(Level.Iteration)
+        public void remettreAZero() {
+            evenements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        configuration = new Configuration();
+        configuration.definir("temps-simulation", Integer.toString(Integer.MAX_VALUE / 2));
+        configuration.definir("interruption-horloge", "50");
+        configuration.definir("temps-écriture-disque", "100");
+        configuration.definir("temps-charge-page", "50");
+        configuration.definir("processus-ordonnancement", ordonnancement);
+        configuration.definir("processus-quantum", "100");
+        configuration.definir("processeurs-nombre", Integer.toString(processeurs));
+        configuration.definir("pagination-algorithme", pagination);
+        configuration.definir("generateur-processus", Integer.toString(processus));
+        configuration.definir("generateur-pages", motif);
+    }
+
+    @Benchmark
+    public long simuler(Compteurs compteurs) throws IOException {
+        // Même graine à chaque invocation : la charge simulée est identique
+        long evenements = new Ordonnanceur().simuler(configuration,
+                new GenerateurCharge(configuration.generateur), new SortieTrace.Aucune()).nombreEvenements;
+        compteurs.evenements += evenements;
+        return evenements;
+    }
+}
@@ -0,0 +1,259 @@
+package fr.ul.miashs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Analyse des défauts de page pour toutes les tailles de mémoire à partir de la suite des références
+// enregistrée pendant la simulation (voir GestionMemoire.enregistrerReferences).
+// LRU et OPTIMAL sont des algorithmes à pile (Mattson et al., 1970) : la mémoire de k cadres contient
+// toujours les k premières pages d'une même pile, et une référence est un succès pour k cadres si et
+// seulement si la page est à une profondeur ≤ k. Une seule passe donne donc la courbe complète :
+//  - LRU : la profondeur est le nombre de pages distinctes référencées depuis le dernier accès à la
+//    page, compté avec un arbre de Fenwick sur les dates des derniers accès (O(n log n)) ;
+//  - OPTIMAL : pile ordonnée par prochaine utilisation, tenue sur cadresMax niveaux (O(n · cadresMax)).
+// Les autres algorithmes ne sont pas à pile (anomalie de Belady pour FIFO) : ils sont rejoués sur la
+// même suite, une fois par taille. Le rejeu reprend les dates et les interruptions d'horloge de la
+// simulation, mais pas la rétroaction des défauts sur l'ordonnancement.
+// En allocation locale, chaque processus a sa propre pile et k désigne les cadres par processus.
+class AnalyseurPiles {
+    private int nombre;
+    private int[] processus = new int[1024];
+    private int[] pages = new int[1024];
+    private boolean[] ecritures = new boolean[1024];
+    private long[] dates = new long[1024];
+    private int[] periodes = new int[1024]; // interruptions d'horloge reçues avant la référence
+
+    void enregistrer(int numeroProcessus, int numeroPage, boolean ecriture, long date, int periode) {
+        if (nombre == pages.length) {
+            int capacite = 2 * nombre;
+            processus = Arrays.copyOf(processus, capacite);
+            pages = Arrays.copyOf(pages, capacite);
+            ecritures = Arrays.copyOf(ecritures, capacite);
+            dates = Arrays.copyOf(dates, capacite);
+            periodes = Arrays.copyOf(periodes, capacite);
+        }
+        processus[nombre] = numeroProcessus;
+        pages[nombre] = numeroPage;
+        ecritures[nombre] = ecriture;
+        dates[nombre] = date;
+        periodes[nombre] = periode;
+        nombre++;
+    }
+
+    int nombreReferences() {
+        return nombre;
+    }
+
+    // Défauts de page de LRU pour 1 à cadresMax cadres (indice k du tableau ; l'indice 0 vaut n)
+    long[] defautsLRU(boolean allocationLocale, int cadresMax) {
+        long[] profondeurs = new long[cadresMax + 2]; // dernière case : au-delà de cadresMax ou premier accès
+        for (int[] groupe : groupes(allocationLocale)) {
+            int m = groupe.length;
+            int[] arbre = new int[m + 1];           // marque à la date du dernier accès de chaque page
+            IndexPages dernierAcces = new IndexPages(Math.max(16, m / 4));
+            for (int i = 0; i < m; i++) {
+                long cle = IndexPages.cle(processus[groupe[i]], pages[groupe[i]]);
+                int j = dernierAcces.get(cle);
+                if (j == IndexPages.ABSENT) {
+                    profondeurs[cadresMax + 1]++;
+                } else {
+                    // Pages distinctes accédées après j, plus la page elle-même
+                    long profondeur = somme(arbre, i - 1) - somme(arbre, j) + 1;
+                    profondeurs[(int) Math.min(profondeur, cadresMax + 1)]++;
+                    ajouter(arbre, j, -1);
+                }
+                ajouter(arbre, i, 1);
+                dernierAcces.put(cle, i);
+            }
+        }
+        return defauts(profondeurs, cadresMax);
+    }
+
+    // Défauts de page de l'algorithme optimal de Belady pour 1 à cadresMax cadres
+    long[] defautsOptimal(boolean allocationLocale, int cadresMax) {
+        long[] profondeurs = new long[cadresMax + 2];
+        long[] cles = new long[cadresMax];
+        int[] prochains = new int[cadresMax];
+        for (int[] groupe : groupes(allocationLocale)) {
+            int m = groupe.length;
+            // Prochaine utilisation de chaque référence (parcours à rebours)
+            int[] prochainUsage = new int[m];
+            IndexPages suivant = new IndexPages(Math.max(16, m / 4));
+            for (int i = m - 1; i >= 0; i--) {
+                long cle = IndexPages.cle(processus[groupe[i]], pages[groupe[i]]);
+                int s = suivant.get(cle);
+                prochainUsage[i] = s == IndexPages.ABSENT ? Integer.MAX_VALUE : s;
+                suivant.put(cle, i);
+            }
+
+            int taille = 0;
+            for (int i = 0; i < m; i++) {
+                long cle = IndexPages.cle(processus[groupe[i]], pages[groupe[i]]);
+                int niveau = 0;
+                while (niveau < taille && cles[niveau] != cle) {
+                    niveau++;
+                }
+                boolean trouvee = niveau < taille;
+                profondeurs[trouvee ? niveau + 1 : cadresMax + 1]++;
+                if (trouvee && niveau == 0) {
+                    prochains[0] = prochainUsage[i];
+                    continue;
+                }
+                // La page passe en tête ; à chaque niveau jusqu'à son ancienne place, la page utilisée
+                // le plus tôt reste et l'autre descend
+                long cleDescendue = taille > 0 ? cles[0] : 0;
+                int prochainDescendu = taille > 0 ? prochains[0] : 0;
+                cles[0] = cle;
+                prochains[0] = prochainUsage[i];
+                if (taille == 0) {
+                    taille = 1;
+                    continue;
+                }
+                int fin = trouvee ? niveau : taille;
+                for (int l = 1; l < fin; l++) {
+                    if (prochains[l] > prochainDescendu) {
+                        long c = cles[l];
+                        int p = prochains[l];
+                        cles[l] = cleDescendue;
+                        prochains[l] = prochainDescendu;
+                        cleDescendue = c;
+                        prochainDescendu = p;
+                    }
+                }
+                if (trouvee || taille < cadresMax) {
+                    cles[fin] = cleDescendue;
+                    prochains[fin] = prochainDescendu;
+                    if (!trouvee) taille++;
+                }
+                // sinon la page descendue sort des cadresMax premiers niveaux
+            }
+        }
+        return defauts(profondeurs, cadresMax);
+    }
+
+    // Défauts de page d'un algorithme quelconque de GestionMemoire, rejoué pour 1 à cadresMax cadres
+    long[] defautsRejeu(String algorithme, boolean allocationLocale, int cadresMax, long fenetreTravail) {
+        long[] defauts = new long[cadresMax + 1];
+        defauts[0] = nombre;
+        int[][] parProcessus = groupes(true);
+        for (int k = 1; k <= cadresMax; k++) {
+            HorlogeSimulee horloge = new HorlogeSimulee();
+            GestionMemoire memoire = new GestionMemoire(k, k, allocationLocale, algorithme, 0, horloge);
+            memoire.definirFenetreTravail(fenetreTravail);
+            if (algorithme.equalsIgnoreCase("OPTIMAL")) {
+                for (int[] groupe : parProcessus) {
+                    int[] suite = new int[groupe.length];
+                    for (int i = 0; i < groupe.length; i++) {
+                        suite[i] = pages[groupe[i]];
+                    }
+                    memoire.definirReferences(processus[groupe[0]], suite);
+                }
+            }
+            int periode = 0;
+            for (int i = 0; i < nombre; i++) {
+                for (; periode < periodes[i]; periode++) {
+                    memoire.interruptionHorloge();
+                }
+                horloge.regler(dates[i]);
+                memoire.accederPage(processus[i], pages[i], ecritures[i]);
+            }
+            defauts[k] = memoire.getDefautsDePage();
+        }
+        return defauts;
+    }
+
+    // Tableau des défauts de page : LRU et OPTIMAL par la pile, puis les algorithmes rejoués
+    String tableau(boolean allocationLocale, int cadresMax, List<String> algorithmes, long fenetreTravail) {
+        List<String> algorithmesRejoues = new ArrayList<>();
+        for (String algorithme : algorithmes) {
+            if (!algorithme.isBlank()) algorithmesRejoues.add(algorithme.trim());
+        }
+        long[][] colonnes = new long[2 + algorithmesRejoues.size()][];
+        colonnes[0] = defautsLRU(allocationLocale, cadresMax);
+        colonnes[1] = defautsOptimal(allocationLocale, cadresMax);
+        StringBuilder tableau = new StringBuilder();
+        tableau.append("Défauts de page selon le nombre de cadres").append(allocationLocale ? " par processus" : "")
+                .append(" (").append(nombre).append(" références) :\n");
+        tableau.append(String.format("%8s%16s%16s", "Cadres", "LRU", "OPTIMAL"));
+        for (int a = 0; a < algorithmesRejoues.size(); a++) {
+            String algorithme = algorithmesRejoues.get(a);
+            colonnes[2 + a] = defautsRejeu(algorithme, allocationLocale, cadresMax, fenetreTravail);
+            tableau.append(String.format("%16s", algorithme.toUpperCase()));
+        }
+        tableau.append('\n');
+        for (int k = 1; k <= cadresMax; k++) {
+            tableau.append(String.format("%8d", k));
+            for (long[] colonne : colonnes) {
+                tableau.append(String.format("%16d", colonne[k]));
+            }
+            tableau.append('\n');
+        }
+        return tableau.toString();
+    }
+
+    // Indices des références regroupées par pile : une par processus en allocation locale,
+    // une seule sinon ; l'ordre chronologique est conservé dans chaque groupe
+    private int[][] groupes(boolean parProcessus) {
+        if (!parProcessus) {
+            int[] tous = new int[nombre];
+            for (int i = 0; i < nombre; i++) {
+                tous[i] = i;
+            }
+            return new int[][] {tous};
+        }
+        int nombreProcessus = 0;
+        for (int i = 0; i < nombre; i++) {
+            nombreProcessus = Math.max(nombreProcessus, processus[i] + 1);
+        }
+        int[] tailles = new int[nombreProcessus];
+        for (int i = 0; i < nombre; i++) {
+            tailles[processus[i]]++;
+        }
+        int nonVides = 0;
+        int[][] parNumero = new int[nombreProcessus][];
+        for (int p = 0; p < nombreProcessus; p++) {
+            parNumero[p] = new int[tailles[p]];
+            if (tailles[p] > 0) nonVides++;
+            tailles[p] = 0;
+        }
+        for (int i = 0; i < nombre; i++) {
+            int p = processus[i];
+            parNumero[p][tailles[p]++] = i;
+        }
+        int[][] groupes = new int[nonVides][];
+        int g = 0;
+        for (int[] groupe : parNumero) {
+            if (groupe.length > 0) groupes[g++] = groupe;
+        }
+        return groupes;
+    }
+
+    // Défauts pour k cadres : références de profondeur > k (premiers accès compris)
+    private static long[] defauts(long[] profondeurs, int cadresMax) {
+        long[] defauts = new long[cadresMax + 1];
+        long cumul = profondeurs[cadresMax + 1];
+        for (int k = cadresMax; k >= 1; k--) {
+            defauts[k] = cumul;
+            cumul += profondeurs[k];
+        }
+        defauts[0] = cumul;
+        return defauts;
+    }
+
+    // Arbre de Fenwick (indices de 0 à n-1)
+    private static void ajouter(int[] arbre, int i, int valeur) {
+        for (i++; i < arbre.length; i += i & -i) {
+            arbre[i] += valeur;
+        }
+    }
+
+    // Somme des valeurs d'indices 0 à i
+    private static long somme(int[] arbre, int i) {
+        long total = 0;
+        for (i++; i > 0; i -= i & -i) {
+            total += arbre[i];
+        }
+        return total;
+    }
+}
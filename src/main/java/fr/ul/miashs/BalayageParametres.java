@@ -0,0 +1,207 @@
+package fr.ul.miashs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Balayage de paramètres : la même charge est simulée pour chaque combinaison d'une grille de
+// paramètres, chaque simulation étant indépendante des autres et exécutée sur un ForkJoinPool
+// (un thread par cœur par défaut). Les résultats sont rassemblés dans un fichier CSV.
+//   java fr.ul.miashs.BalayageParametres <fichier_config> <fichier_grille> <fichier_csv> [<fichier_programmes>]
+// Le fichier de grille donne, pour chaque clé de configuration à faire varier, ses valeurs séparées
+// par des virgules (les autres paramètres sont ceux du fichier de configuration) :
+//   pagination-algorithme=FIFO,LRU,ARC
+//   pagination-nombre-cadres-locale=2,4,8
+// Le CSV a une ligne par combinaison, dans l'ordre de la grille (la dernière clé varie le plus vite).
+// Les simulations du balayage n'écrivent pas de trace.
+public class BalayageParametres {
+    static final String[] COLONNES_RESULTATS = {"termines", "delai_rotation_moyen", "reactivite_moyenne",
+            "utilisation_moyenne", "defauts_de_page", "acces_memoire", "deplacement_disque", "evenements"};
+
+    private final List<String> cles = new ArrayList<>();
+    private final List<String[]> valeurs = new ArrayList<>();
+
+    // Lecture du fichier de grille (lignes cle=v1,v2,... ; lignes vides et commentaires ignorés)
+    static BalayageParametres lire(String chemin) throws IOException {
+        BalayageParametres grille = new BalayageParametres();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(chemin), StandardCharsets.UTF_8)) {
+            String ligne;
+            while ((ligne = br.readLine()) != null) {
+                ligne = ligne.trim();
+                if (ligne.isEmpty() || ligne.startsWith("#")) continue;
+
+                String[] parts = ligne.split("=");
+                if (parts.length != 2) continue;
+
+                String[] liste = parts[1].split(",");
+                for (int i = 0; i < liste.length; i++) {
+                    liste[i] = liste[i].trim();
+                }
+                grille.ajouter(parts[0].trim(), liste);
+            }
+        }
+        return grille;
+    }
+
+    void ajouter(String cle, String... valeursCle) {
+        if (valeursCle.length == 0) {
+            throw new IllegalArgumentException("Aucune valeur pour " + cle);
+        }
+        cles.add(cle);
+        valeurs.add(valeursCle);
+    }
+
+    int nombreCombinaisons() {
+        int nombre = 1;
+        for (String[] liste : valeurs) {
+            nombre = Math.multiplyExact(nombre, liste.length);
+        }
+        return nombre;
+    }
+
+    // Valeur de chaque clé pour la combinaison d'indice donné (numération à base mixte)
+    String[] combinaison(int indice) {
+        String[] combinaison = new String[cles.size()];
+        for (int k = cles.size() - 1; k >= 0; k--) {
+            String[] liste = valeurs.get(k);
+            combinaison[k] = liste[indice % liste.length];
+            indice /= liste.length;
+        }
+        return combinaison;
+    }
+
+    // Simuler toutes les combinaisons sur le pool ; renvoie les lignes du CSV dans l'ordre de la grille.
+    // programmes peut être null si la configuration utilise le générateur de charge.
+    List<String> executer(String cheminConfig, Path programmes, ForkJoinPool pool) throws IOException {
+        List<ForkJoinTask<String>> taches = new ArrayList<>();
+        for (int i = 0; i < nombreCombinaisons(); i++) {
+            final int indice = i;
+            taches.add(pool.submit(() -> simuler(cheminConfig, programmes, indice)));
+        }
+        List<String> lignes = new ArrayList<>(taches.size());
+        try {
+            for (ForkJoinTask<String> tache : taches) {
+                lignes.add(tache.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Balayage interrompu", e);
+        } catch (ExecutionException e) {
+            for (ForkJoinTask<String> tache : taches) {
+                tache.cancel(false);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+        return lignes;
+    }
+
+    // Une simulation complète, avec sa propre configuration, sa propre source et son propre ordonnanceur
+    private String simuler(String cheminConfig, Path programmes, int indice) throws IOException {
+        Configuration configuration = Configuration.lire(cheminConfig);
+        String[] combinaison = combinaison(indice);
+        for (int k = 0; k < combinaison.length; k++) {
+            configuration.definir(cles.get(k), combinaison[k]);
+        }
+        ResultatSimulation resultat;
+        try (SourceProcessus source = ouvrirSource(configuration, programmes)) {
+            resultat = new Ordonnanceur().simuler(configuration, source, new SortieTrace.Aucune());
+        }
+        long deplacement = GestionDisque.creer(resultat.pistesDisque, configuration)
+                .executer(configuration.disqueOrdonnancement).deplacementTotal;
+
+        StringBuilder ligne = new StringBuilder();
+        for (String valeur : combinaison) {
+            ligne.append(valeur).append(',');
+        }
+        ligne.append(resultat.nombreTermines).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", resultat.delaiRotationMoyen())).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", resultat.reactiviteMoyenne())).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", resultat.utilisationMoyenne(configuration.tempsSimulation))).append(',')
+                .append(resultat.memoire.getDefautsDePage()).append(',')
+                .append(resultat.memoire.getNombreAcces()).append(',')
+                .append(deplacement).append(',')
+                .append(resultat.nombreEvenements);
+        return ligne.toString();
+    }
+
+    private static SourceProcessus ouvrirSource(Configuration configuration, Path programmes) throws IOException {
+        if (configuration.sourceProgrammes.equalsIgnoreCase("generateur")) {
+            return new GenerateurCharge(configuration.generateur);
+        }
+        if (programmes == null) {
+            throw new IllegalArgumentException("Aucun fichier de programmes (programmes-source=fichier)");
+        }
+        return new LecteurProgrammes(Files.newBufferedReader(programmes, StandardCharsets.UTF_8));
+    }
+
+    String enTeteCsv() {
+        StringBuilder enTete = new StringBuilder();
+        for (String cle : cles) {
+            enTete.append(cle).append(',');
+        }
+        return enTete.append(String.join(",", COLONNES_RESULTATS)).toString();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: java fr.ul.miashs.BalayageParametres <fichier_config> <fichier_grille> <fichier_csv> [<fichier_programmes>]");
+            return;
+        }
+        BalayageParametres grille;
+        try {
+            grille = lire(args[1]);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de la grille de paramètres : " + e.getMessage());
+            return;
+        }
+
+        // Le fichier de programmes est trié une fois pour toutes, puis relu par chaque simulation
+        Path programmes = null;
+        Path fichierTrie = null;
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            if (args.length > 3) {
+                programmes = Paths.get(args[3]);
+                if (!TriProgrammes.estTrie(programmes)) {
+                    fichierTrie = TriProgrammes.trier(programmes, new Configuration().tailleBlocTri);
+                    programmes = fichierTrie;
+                }
+            }
+            System.out.println("Balayage : " + grille.nombreCombinaisons() + " simulations sur "
+                    + pool.getParallelism() + " threads");
+            List<String> lignes = grille.executer(args[0], programmes, pool);
+            try (Writer sortie = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                sortie.write(grille.enTeteCsv());
+                sortie.write('\n');
+                for (String ligne : lignes) {
+                    sortie.write(ligne);
+                    sortie.write('\n');
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erreur pendant le balayage : " + e.getMessage());
+        } finally {
+            pool.shutdown();
+            if (fichierTrie != null) {
+                try {
+                    Files.deleteIfExists(fichierTrie);
+                } catch (IOException e) {
+                    // fichier temporaire : tant pis
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package fr.ul.miashs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// Paramètres de la simulation, lus depuis le fichier de configuration (lignes cle=valeur).
+// Les valeurs par défaut sont celles utilisées lorsqu'une clé est absente du fichier.
+class Configuration {
+    int tempsSimulation = 0;
+    int interruptionHorloge = 0;
+    String strategieOrdonnancement = "";
+    int quantum = 0;
+    int vieillissement = 100;
+    int nombreProcesseurs = 1;
+    boolean affinite = false;
+    boolean volTravail = true;
+    String traceSortie = "console";
+    String traceFichier = "trace.txt";
+    boolean traceAsynchrone = true;
+    String sourceProgrammes = "fichier";
+    // Fichier de programmes supposé trié par temps d'arrivée, ce que la lecture vérifie au passage ;
+    // false : tri externe (TriProgrammes) avant la simulation
+    boolean programmesTries = true;
+    int tailleBlocTri = 100_000;
+    int tempsEcritureDisque = 0;
+    int tempsChargePage = 0;
+    String politiqueAllocation = "locale";
+    int nombreCadresLocal = 4;
+    int nombreCadresTotal = 8;
+    String algorithmePagement = "FIFO";
+    int fenetreTravail = 200;
+    boolean tableCadresDirecte = false;
+    boolean analysePages = false;
+    int cadresAnalyse = 16;
+    String algorithmesAnalyse = "FIFO,SECONDE_CHANCE,ARC";
+    String directionInitiale = "droite";
+    int positionInitiale = 0;
+    String disqueOrdonnancement = "FIFO";
+    int disqueNombrePistes = 200;     // pistes 0 à disqueNombrePistes - 1
+    int disqueLot = 16;               // requêtes par lot (NSTEP, DEADLINE)
+    int disqueEcheance = 64;          // services avant qu'une requête passe en priorité (DEADLINE)
+    String disqueLog = "log_disque.txt";
+    boolean disqueLogCompression = false;
+    boolean disqueEnLigne = false;    // file de requêtes simulée pendant l'exécution (PeripheriqueDisque)
+    double disqueTempsPiste = 0.1;    // temps de déplacement du bras d'une piste, en ms
+    // Charge synthétique (programmes-source=generateur), clés generateur-*
+    GenerateurCharge.Parametres generateur = new GenerateurCharge.Parametres();
+
+    // Lecture du fichier de configuration (en UTF-8 : certaines clés sont accentuées)
+    static Configuration lire(String chemin) throws IOException {
+        Configuration configuration = new Configuration();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(chemin), StandardCharsets.UTF_8)) {
+            String ligne;
+            while ((ligne = br.readLine()) != null) {
+                ligne = ligne.trim();
+                if (ligne.isEmpty() || ligne.startsWith("#")) continue;
+
+                String[] parts = ligne.split("=");
+                if (parts.length != 2) continue;
+
+                configuration.definir(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return configuration;
+    }
+
+    // Affecter un paramètre à partir de sa clé (les clés inconnues sont ignorées)
+    void definir(String cle, String valeur) {
+        switch (cle) {
+            case "temps-simulation":
+                tempsSimulation = Integer.parseInt(valeur);
+                break;
+            case "interruption-horloge":
+                interruptionHorloge = Integer.parseInt(valeur);
+                break;
+            case "processus-ordonnancement":
+                strategieOrdonnancement = valeur;
+                break;
+            case "processus-quantum":
+                quantum = Integer.parseInt(valeur);
+                break;
+            case "processus-vieillissement":
+                vieillissement = Integer.parseInt(valeur);
+                break;
+            case "processeurs-nombre":
+                nombreProcesseurs = Integer.parseInt(valeur);
+                break;
+            case "processeurs-affinite":
+                affinite = Boolean.parseBoolean(valeur);
+                break;
+            case "processeurs-vol-travail":
+                volTravail = Boolean.parseBoolean(valeur);
+                break;
+            case "trace-sortie":
+                traceSortie = valeur;
+                break;
+            case "trace-fichier":
+                traceFichier = valeur;
+                break;
+            case "trace-asynchrone":
+                traceAsynchrone = Boolean.parseBoolean(valeur);
+                break;
+            case "programmes-source":
+                sourceProgrammes = valeur;
+                break;
+            case "programmes-tries":
+                programmesTries = Boolean.parseBoolean(valeur);
+                break;
+            case "programmes-tri-bloc":
+                tailleBlocTri = Integer.parseInt(valeur);
+                break;
+            case "temps-écriture-disque":
+                tempsEcritureDisque = Integer.parseInt(valeur);
+                break;
+            case "temps-charge-page":
+                tempsChargePage = Integer.parseInt(valeur);
+                break;
+            case "pagination-politique-allocation":
+                politiqueAllocation = valeur;
+                break;
+            case "pagination-nombre-cadres-locale":
+                nombreCadresLocal = Integer.parseInt(valeur);
+                break;
+            case "pagination-nombre-cadres":
+                nombreCadresTotal = Integer.parseInt(valeur);
+                break;
+            case "pagination-algorithme":
+                algorithmePagement = valeur;
+                break;
+            case "pagination-fenetre-travail":
+                fenetreTravail = Integer.parseInt(valeur);
+                break;
+            case "pagination-table-directe":
+                tableCadresDirecte = Boolean.parseBoolean(valeur);
+                break;
+            case "pagination-analyse":
+                analysePages = Boolean.parseBoolean(valeur);
+                break;
+            case "pagination-analyse-cadres":
+                cadresAnalyse = Integer.parseInt(valeur);
+                break;
+            case "pagination-analyse-algorithmes":
+                algorithmesAnalyse = valeur;
+                break;
+            case "disque-position-initiale":
+                positionInitiale = Integer.parseInt(valeur);
+                break;
+            case "disque-direction-initiale":
+                directionInitiale = valeur;
+                break;
+            case "disque-ordonnancement":
+                disqueOrdonnancement = valeur;
+                break;
+            case "disque-nombre-pistes":
+                disqueNombrePistes = Integer.parseInt(valeur);
+                break;
+            case "disque-lot":
+                disqueLot = Integer.parseInt(valeur);
+                break;
+            case "disque-echeance":
+                disqueEcheance = Integer.parseInt(valeur);
+                break;
+            case "disque-log":
+                disqueLog = valeur;
+                break;
+            case "disque-log-compression":
+                disqueLogCompression = Boolean.parseBoolean(valeur);
+                break;
+            case "disque-en-ligne":
+                disqueEnLigne = Boolean.parseBoolean(valeur);
+                break;
+            case "disque-temps-piste":
+                disqueTempsPiste = Double.parseDouble(valeur);
+                break;
+            default:
+                if (cle.startsWith("generateur-")) generateur.definir(cle, valeur);
+                break;
+        }
+    }
+}
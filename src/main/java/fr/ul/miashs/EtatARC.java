@@ -0,0 +1,108 @@
+package fr.ul.miashs;
+
+// État de l'algorithme ARC (Adaptive Replacement Cache, Megiddo et Modha) pour une zone de c cadres.
+// T1 contient les pages vues une seule fois récemment, T2 celles vues au moins deux fois.
+// B1 et B2 sont des listes fantômes : les clés des pages récemment évincées de T1 et de T2,
+// sans cadre associé. Un défaut sur une page fantôme ajuste la cible p (taille visée pour T1).
+class EtatARC {
+    private static final int T1 = 0, T2 = 1; // Listes de cadres résidents
+    private static final int B1 = 0, B2 = 1; // Listes fantômes
+
+    private final int c;
+    private final ListesCadres residents;
+    private final long[] cleCadre;
+    private final ListesCadres fantomes;
+    private final long[] cleFantome;
+    private final IndexPages indexFantomes; // Clé -> noeud fantôme
+    private final int[] noeudsLibres;
+    private int nombreNoeudsLibres;
+    private int p;          // Taille visée pour T1
+    private boolean versT2; // La page en cours de chargement était dans une liste fantôme
+
+    public EtatARC(int nombreCadres) {
+        this.c = nombreCadres;
+        this.residents = new ListesCadres(nombreCadres, 2);
+        this.cleCadre = new long[nombreCadres];
+        // |B1| + |B2| <= c, plus un noeud pendant le transfert d'une page évincée
+        int nombreNoeuds = nombreCadres + 1;
+        this.fantomes = new ListesCadres(nombreNoeuds, 2);
+        this.cleFantome = new long[nombreNoeuds];
+        this.indexFantomes = new IndexPages(nombreNoeuds);
+        this.noeudsLibres = new int[nombreNoeuds];
+        for (int i = 0; i < nombreNoeuds; i++) {
+            noeudsLibres[i] = i;
+        }
+        this.nombreNoeudsLibres = nombreNoeuds;
+    }
+
+    // Succès dans T1 ou T2 : la page passe en tête des pages fréquentes (T2)
+    public void acces(int cadre) {
+        residents.deplacerEnQueue(T2, cadre);
+    }
+
+    // Défaut sur la page de clé donnée alors que la zone est pleine : mise à jour des listes
+    // fantômes et de la cible p, puis choix du cadre à libérer (retiré de T1 ou T2)
+    public int victime(long cle) {
+        int noeud = indexFantomes.get(cle);
+        if (noeud != IndexPages.ABSENT) {
+            int b1 = fantomes.taille(B1);
+            int b2 = fantomes.taille(B2);
+            boolean dansB2 = fantomes.liste(noeud) == B2;
+            if (dansB2) {
+                p = Math.max(0, p - Math.max(b1 / b2, 1));
+            } else {
+                p = Math.min(c, p + Math.max(b2 / b1, 1));
+            }
+            supprimerFantome(noeud);
+            versT2 = true;
+            return remplacer(dansB2);
+        }
+
+        int t1 = residents.taille(T1);
+        int b1 = fantomes.taille(B1);
+        if (t1 + b1 == c) {
+            if (t1 < c) {
+                supprimerFantome(fantomes.tete(B1));
+                return remplacer(false);
+            }
+            // T1 occupe toute la zone : sa page la plus ancienne est évincée sans devenir fantôme
+            int cadre = residents.tete(T1);
+            residents.retirer(cadre);
+            return cadre;
+        }
+        if (t1 + residents.taille(T2) + b1 + fantomes.taille(B2) == 2 * c) {
+            supprimerFantome(fantomes.tete(B2));
+        }
+        return remplacer(false);
+    }
+
+    // Page chargée dans le cadre (après un défaut)
+    public void chargement(int cadre, long cle) {
+        cleCadre[cadre] = cle;
+        residents.ajouterEnQueue(versT2 ? T2 : T1, cadre);
+        versT2 = false;
+    }
+
+    // Procédure REPLACE : évincer la plus ancienne page de T1 ou de T2 selon la cible p
+    private int remplacer(boolean dansB2) {
+        int t1 = residents.taille(T1);
+        boolean depuisT1 = t1 >= 1 && ((dansB2 && t1 == p) || t1 > p || residents.taille(T2) == 0);
+        int cadre = residents.tete(depuisT1 ? T1 : T2);
+        residents.retirer(cadre);
+        ajouterFantome(depuisT1 ? B1 : B2, cleCadre[cadre]);
+        return cadre;
+    }
+
+    private void ajouterFantome(int liste, long cle) {
+        int noeud = noeudsLibres[--nombreNoeudsLibres];
+        cleFantome[noeud] = cle;
+        fantomes.ajouterEnQueue(liste, noeud);
+        indexFantomes.put(cle, noeud);
+    }
+
+    private void supprimerFantome(int noeud) {
+        fantomes.retirer(noeud);
+        indexFantomes.supprimer(cleFantome[noeud]);
+        noeudsLibres[nombreNoeudsLibres++] = noeud;
+    }
+}
@@ -0,0 +1,77 @@
+package fr.ul.miashs;
+
+// Classes de fréquence de l'algorithme LFU (Least Frequently Used), toutes les opérations en O(1).
+// Les cadres de même fréquence d'accès forment une classe (liste ordonnée du moins au plus récent) ;
+// les classes non vides sont elles-mêmes chaînées par fréquence croissante.
+// La victime est le cadre le plus ancien de la classe de plus faible fréquence.
+class FrequencesLFU {
+    private static final int LISTE_CLASSES = 0;
+
+    private final ListesCadres cadresParClasse; // Cadre -> liste de sa classe de fréquence
+    private final ListesCadres ordreClasses;    // Classes non vides par fréquence croissante
+    private final long[] frequenceClasse;
+    private final int[] classesLibres;
+    private int nombreClassesLibres;
+
+    public FrequencesLFU(int nombreCadres) {
+        // Une classe de plus que de cadres : la nouvelle classe est créée avant que l'ancienne ne se vide
+        int nombreClasses = nombreCadres + 1;
+        this.cadresParClasse = new ListesCadres(nombreCadres, nombreClasses);
+        this.ordreClasses = new ListesCadres(nombreClasses, 1);
+        this.frequenceClasse = new long[nombreClasses];
+        this.classesLibres = new int[nombreClasses];
+        for (int i = 0; i < nombreClasses; i++) {
+            classesLibres[i] = nombreClasses - 1 - i;
+        }
+        this.nombreClassesLibres = nombreClasses;
+    }
+
+    // Page chargée dans le cadre : fréquence 1
+    public void chargement(int cadre) {
+        int premiere = ordreClasses.tete(LISTE_CLASSES);
+        int classe = premiere;
+        if (premiere == ListesCadres.AUCUN || frequenceClasse[premiere] != 1) {
+            classe = nouvelleClasse(1);
+            ordreClasses.ajouterEnTete(LISTE_CLASSES, classe);
+        }
+        cadresParClasse.ajouterEnQueue(classe, cadre);
+    }
+
+    // Accès à une page présente : le cadre passe dans la classe de fréquence suivante
+    public void acces(int cadre) {
+        int classe = cadresParClasse.liste(cadre);
+        long frequence = frequenceClasse[classe] + 1;
+        int suivante = ordreClasses.suivant(classe);
+        int cible = suivante;
+        if (suivante == ListesCadres.AUCUN || frequenceClasse[suivante] != frequence) {
+            cible = nouvelleClasse(frequence);
+            ordreClasses.insererApres(LISTE_CLASSES, classe, cible);
+        }
+        retirer(cadre);
+        cadresParClasse.ajouterEnQueue(cible, cadre);
+    }
+
+    // Choisir et retirer la victime : le plus ancien cadre de la classe la moins fréquente
+    public int victime() {
+        int classe = ordreClasses.tete(LISTE_CLASSES);
+        if (classe == ListesCadres.AUCUN) return -1;
+        int cadre = cadresParClasse.tete(classe);
+        retirer(cadre);
+        return cadre;
+    }
+
+    private void retirer(int cadre) {
+        int classe = cadresParClasse.liste(cadre);
+        cadresParClasse.retirer(cadre);
+        if (cadresParClasse.taille(classe) == 0) {
+            ordreClasses.retirer(classe);
+            classesLibres[nombreClassesLibres++] = classe;
+        }
+    }
+
+    private int nouvelleClasse(long frequence) {
+        int classe = classesLibres[--nombreClassesLibres];
+        frequenceClasse[classe] = frequence;
+        return classe;
+    }
+}
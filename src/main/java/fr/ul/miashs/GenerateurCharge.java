@@ -0,0 +1,348 @@
+package fr.ul.miashs;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+import fr.ul.miashs.Ordonnanceur.TypeEvenement;
+
+// Générateur de charge synthétique : produit des processus par temps d'arrivée croissant, soit
+// directement pour l'ordonnanceur (programmes-source=generateur), soit au format du fichier de programmes.
+// Tout est tiré d'un générateur pseudo-aléatoire initialisé par generateur-graine : une même
+// configuration produit toujours la même charge. Les paramètres (clés generateur-*) sont décrits
+// dans Parametres.
+//   java fr.ul.miashs.GenerateurCharge <fichier_config> [<fichier_programmes>]
+public class GenerateurCharge implements SourceProcessus {
+
+    // Paramètres du générateur, lus dans le fichier de configuration
+    static class Parametres {
+        int nombreProcessus = 1000;
+        long graine = 42;
+        String arrivees = "poisson";     // poisson ou rafales
+        double intervalleMoyen = 50;     // ms entre deux arrivées, en moyenne
+        int tailleRafale = 10;           // processus par rafale (arrivées simultanées)
+        int instructionsMoyen = 20;      // instructions avant FIN, en moyenne (uniforme de 1 à 2n-1)
+        int prioriteMax = 10;            // priorités tirées uniformément dans [0, prioriteMax[
+        // Proportions des instructions (normalisées)
+        double proportionCalcul = 0.4;
+        double proportionLecture = 0.3;
+        double proportionEcriture = 0.1;
+        double proportionDormir = 0.2;
+        String dureeCalcul = "exponentielle"; // exponentielle, uniforme ou constante
+        double calculMoyen = 50;
+        String dureeDormir = "exponentielle";
+        double dormirMoyen = 100;
+        String pages = "uniforme";       // uniforme, zipf, sequentiel ou boucle
+        int nombrePages = 64;            // pages distinctes par processus
+        double exposantZipf = 1.0;
+        int fenetreBoucle = 8;           // pages de l'ensemble de travail parcouru en boucle
+        int repetitionsBoucle = 4;       // tours de boucle avant de passer à l'ensemble suivant
+        String pistes = "uniforme";      // uniforme, zipf ou locale
+        int nombrePistes = 200;
+        int ecartPistes = 10;            // écart maximal d'une piste à la précédente (locale)
+
+        // Affecter un paramètre à partir de sa clé (les clés inconnues sont ignorées)
+        void definir(String cle, String valeur) {
+            switch (cle) {
+                case "generateur-processus":
+                    nombreProcessus = Integer.parseInt(valeur);
+                    break;
+                case "generateur-graine":
+                    graine = Long.parseLong(valeur);
+                    break;
+                case "generateur-arrivees":
+                    arrivees = valeur;
+                    break;
+                case "generateur-intervalle-moyen":
+                    intervalleMoyen = Double.parseDouble(valeur);
+                    break;
+                case "generateur-taille-rafale":
+                    tailleRafale = Integer.parseInt(valeur);
+                    break;
+                case "generateur-instructions":
+                    instructionsMoyen = Integer.parseInt(valeur);
+                    break;
+                case "generateur-priorite-max":
+                    prioriteMax = Integer.parseInt(valeur);
+                    break;
+                case "generateur-proportion-calcul":
+                    proportionCalcul = Double.parseDouble(valeur);
+                    break;
+                case "generateur-proportion-lecture":
+                    proportionLecture = Double.parseDouble(valeur);
+                    break;
+                case "generateur-proportion-ecriture":
+                    proportionEcriture = Double.parseDouble(valeur);
+                    break;
+                case "generateur-proportion-dormir":
+                    proportionDormir = Double.parseDouble(valeur);
+                    break;
+                case "generateur-duree-calcul":
+                    dureeCalcul = valeur;
+                    break;
+                case "generateur-calcul-moyen":
+                    calculMoyen = Double.parseDouble(valeur);
+                    break;
+                case "generateur-duree-dormir":
+                    dureeDormir = valeur;
+                    break;
+                case "generateur-dormir-moyen":
+                    dormirMoyen = Double.parseDouble(valeur);
+                    break;
+                case "generateur-pages":
+                    pages = valeur;
+                    break;
+                case "generateur-nombre-pages":
+                    nombrePages = Integer.parseInt(valeur);
+                    break;
+                case "generateur-zipf-exposant":
+                    exposantZipf = Double.parseDouble(valeur);
+                    break;
+                case "generateur-fenetre-boucle":
+                    fenetreBoucle = Integer.parseInt(valeur);
+                    break;
+                case "generateur-repetitions-boucle":
+                    repetitionsBoucle = Integer.parseInt(valeur);
+                    break;
+                case "generateur-pistes":
+                    pistes = valeur;
+                    break;
+                case "generateur-nombre-pistes":
+                    nombrePistes = Integer.parseInt(valeur);
+                    break;
+                case "generateur-ecart-pistes":
+                    ecartPistes = Integer.parseInt(valeur);
+                    break;
+            }
+        }
+    }
+
+    private final Parametres parametres;
+    private final SplittableRandom aleatoire;
+    private final double[] repartitionPages;  // loi de Zipf des pages (null si inutile)
+    private final double[] repartitionPistes; // loi de Zipf des pistes (null si inutile)
+    private final double seuilCalcul, seuilLecture, seuilEcriture;
+    private int[] programme = new int[64];
+    private int nombreGeneres;
+    private double tempsArrivee;
+    private int restantRafale;
+    private int pisteCourante;
+
+    public GenerateurCharge(Parametres parametres) {
+        verifierLoi("generateur-arrivees", parametres.arrivees, "poisson", "rafales");
+        verifierLoi("generateur-duree-calcul", parametres.dureeCalcul, "exponentielle", "uniforme", "constante");
+        verifierLoi("generateur-duree-dormir", parametres.dureeDormir, "exponentielle", "uniforme", "constante");
+        verifierLoi("generateur-pages", parametres.pages, "uniforme", "zipf", "sequentiel", "boucle");
+        verifierLoi("generateur-pistes", parametres.pistes, "uniforme", "zipf", "locale");
+        this.parametres = parametres;
+        this.aleatoire = new SplittableRandom(parametres.graine);
+        this.repartitionPages = parametres.pages.equalsIgnoreCase("zipf")
+                ? repartitionZipf(parametres.nombrePages, parametres.exposantZipf) : null;
+        this.repartitionPistes = parametres.pistes.equalsIgnoreCase("zipf")
+                ? repartitionZipf(parametres.nombrePistes, parametres.exposantZipf) : null;
+        double total = parametres.proportionCalcul + parametres.proportionLecture
+                + parametres.proportionEcriture + parametres.proportionDormir;
+        if (total <= 0) {
+            throw new IllegalArgumentException("Les proportions d'instructions du générateur sont toutes nulles");
+        }
+        this.seuilCalcul = parametres.proportionCalcul / total;
+        this.seuilLecture = seuilCalcul + parametres.proportionLecture / total;
+        this.seuilEcriture = seuilLecture + parametres.proportionEcriture / total;
+        this.pisteCourante = parametres.nombrePistes / 2;
+    }
+
+    // Une loi mal orthographiée est signalée plutôt que remplacée en silence par la loi par défaut
+    private static void verifierLoi(String cle, String loi, String... connues) {
+        for (String connue : connues) {
+            if (connue.equalsIgnoreCase(loi)) return;
+        }
+        throw new IllegalArgumentException(cle + " inconnue : " + loi + " (" + String.join(", ", connues) + ")");
+    }
+
+    @Override
+    public Processus suivant() {
+        if (nombreGeneres == parametres.nombreProcessus) return null;
+        nombreGeneres++;
+        int arrivee = prochaineArrivee();
+        int priorite = aleatoire.nextInt(Math.max(1, parametres.prioriteMax));
+
+        int nombre = 1 + aleatoire.nextInt(Math.max(1, 2 * parametres.instructionsMoyen - 1));
+        if (programme.length < nombre + 1) {
+            programme = new int[Math.max(nombre + 1, 2 * programme.length)];
+        }
+        int depart = aleatoire.nextInt(parametres.nombrePages); // première page (sequentiel, boucle)
+        int acces = 0;
+        for (int i = 0; i < nombre; i++) {
+            double tirage = aleatoire.nextDouble();
+            if (tirage < seuilCalcul) {
+                programme[i] = Processus.coder(TypeEvenement.CALCUL,
+                        Math.max(1, duree(parametres.dureeCalcul, parametres.calculMoyen)));
+            } else if (tirage < seuilLecture) {
+                programme[i] = Processus.coder(TypeEvenement.LECTURE, page(depart, acces++));
+            } else if (tirage < seuilEcriture) {
+                // La valeur d'une écriture est aussi la piste du disque écrite : elle suit la loi des pistes
+                programme[i] = Processus.coder(TypeEvenement.ECRITURE, piste());
+            } else {
+                programme[i] = Processus.coder(TypeEvenement.DORMIR, duree(parametres.dureeDormir, parametres.dormirMoyen));
+            }
+        }
+        programme[nombre] = Processus.coder(TypeEvenement.FIN, 0);
+        return new Processus(Integer.toString(nombreGeneres), arrivee, priorite,
+                Arrays.copyOf(programme, nombre + 1));
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // Arrivées de Poisson (intervalles exponentiels) ou en rafales de processus simultanés
+    // séparées par des intervalles exponentiels de même débit moyen
+    private int prochaineArrivee() {
+        if (nombreGeneres > 1) {
+            if (parametres.arrivees.equalsIgnoreCase("rafales")) {
+                if (--restantRafale <= 0) {
+                    restantRafale = parametres.tailleRafale;
+                    tempsArrivee += exponentielle(parametres.intervalleMoyen * parametres.tailleRafale);
+                }
+            } else {
+                tempsArrivee += exponentielle(parametres.intervalleMoyen);
+            }
+        } else {
+            restantRafale = parametres.tailleRafale;
+        }
+        return (int) Math.min(tempsArrivee, Integer.MAX_VALUE);
+    }
+
+    private int duree(String loi, double moyenne) {
+        double duree;
+        switch (loi.toLowerCase()) {
+            case "constante":
+                duree = moyenne;
+                break;
+            case "uniforme":
+                duree = aleatoire.nextDouble(2 * moyenne);
+                break;
+            default: // exponentielle
+                duree = exponentielle(moyenne);
+                break;
+        }
+        return (int) Math.min(Math.round(duree), Processus.VALEUR_MAX);
+    }
+
+    // k-ième accès mémoire du processus, selon le motif de références choisi
+    private int page(int depart, int k) {
+        int n = parametres.nombrePages;
+        switch (parametres.pages.toLowerCase()) {
+            case "zipf":
+                return tirer(repartitionPages);
+            case "sequentiel":
+                return (depart + k) % n;
+            case "boucle": {
+                // Parcours en boucle d'un ensemble de travail, remplacé après quelques tours
+                int fenetre = Math.max(1, Math.min(parametres.fenetreBoucle, n));
+                int ensemble = k / (fenetre * Math.max(1, parametres.repetitionsBoucle));
+                return (depart + ensemble * fenetre + k % fenetre) % n;
+            }
+            default: // uniforme
+                return aleatoire.nextInt(n);
+        }
+    }
+
+    private int piste() {
+        int n = parametres.nombrePistes;
+        switch (parametres.pistes.toLowerCase()) {
+            case "zipf":
+                return tirer(repartitionPistes);
+            case "locale": {
+                // Marche aléatoire bornée autour de la piste précédente
+                int ecart = Math.max(0, parametres.ecartPistes);
+                pisteCourante += aleatoire.nextInt(2 * ecart + 1) - ecart;
+                pisteCourante = Math.max(0, Math.min(n - 1, pisteCourante));
+                return pisteCourante;
+            }
+            default: // uniforme
+                return aleatoire.nextInt(n);
+        }
+    }
+
+    private double exponentielle(double moyenne) {
+        return -moyenne * Math.log(1 - aleatoire.nextDouble());
+    }
+
+    // Fonction de répartition de la loi de Zipf sur n valeurs : P(k) proportionnelle à 1 / (k+1)^s
+    private static double[] repartitionZipf(int n, double s) {
+        double[] repartition = new double[n];
+        double somme = 0;
+        for (int k = 0; k < n; k++) {
+            somme += 1 / Math.pow(k + 1, s);
+            repartition[k] = somme;
+        }
+        for (int k = 0; k < n; k++) {
+            repartition[k] /= somme;
+        }
+        return repartition;
+    }
+
+    // Tirage selon une fonction de répartition, par recherche dichotomique
+    private int tirer(double[] repartition) {
+        double u = aleatoire.nextDouble();
+        int bas = 0, haut = repartition.length - 1;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (repartition[milieu] < u) bas = milieu + 1; else haut = milieu;
+        }
+        return bas;
+    }
+
+    // Écriture d'un processus au format du fichier de programmes
+    static void ecrire(Processus processus, Writer sortie) throws IOException {
+        sortie.write(processus.id);
+        sortie.write('/');
+        sortie.write(Integer.toString(processus.tempsArrivee));
+        sortie.write('/');
+        sortie.write(Integer.toString(processus.priorite));
+        sortie.write("/{");
+        for (int i = 0; i < processus.programme.length; i++) {
+            int instruction = processus.programme[i];
+            if (i > 0) sortie.write(", ");
+            sortie.write(Processus.type(instruction).name());
+            sortie.write('(');
+            sortie.write(Integer.toString(Processus.valeur(instruction)));
+            sortie.write(')');
+        }
+        sortie.write('}');
+        sortie.write(System.lineSeparator());
+    }
+
+    // Génération d'un fichier de programmes (sur la sortie standard par défaut)
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java fr.ul.miashs.GenerateurCharge <fichier_config> [<fichier_programmes>]");
+            return;
+        }
+        try {
+            Configuration configuration = Configuration.lire(args[0]);
+            Writer sortie = args.length > 1
+                    ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
+            try (GenerateurCharge generateur = new GenerateurCharge(configuration.generateur)) {
+                Processus processus;
+                while ((processus = generateur.suivant()) != null) {
+                    ecrire(processus, sortie);
+                }
+            } finally {
+                if (args.length > 1) sortie.close(); else sortie.flush();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erreur lors de la génération des programmes : " + e.getMessage());
+        }
+    }
+}
@@ -1,151 +1,497 @@
 package fr.ul.miashs;
 
 import java.util.*;
-import java.io.FileWriter;
-import java.io.IOException;
 
+// Algorithmes d'ordonnancement du disque appliqués à la liste des requêtes de la simulation.
+// Chaque algorithme produit un ResultatDisque (déplacement total, ordre de service, déplacement par
+// requête), à calculer une fois puis à afficher ou journaliser. Les algorithmes autres que FIFO
+// partagent une copie triée des requêtes en tableau d'int, calculée au premier besoin, et sont en
+// O(n log n). Les pistes vont de 0 à nombrePistes - 1 (disque-nombre-pistes, 200 par défaut).
+// Toutes les requêtes sont présentes au départ, dans l'ordre de la liste : c'est cet ordre qui
+// découpe les lots de N-step SCAN et qui date les requêtes pour DEADLINE.
 public class GestionDisque {
 
-    private List<Integer> requetes; // Liste des requêtes de lecture
+    // Algorithmes disponibles, dans l'ordre du rapport
+    public static final String[] ALGORITHMES = {"FIFO", "SSF", "SCAN", "CSCAN", "LOOK", "CLOOK", "NSTEP", "FSCAN", "DEADLINE"};
+
+    private final int[] requetes; // Pistes des requêtes, dans l'ordre de soumission
     private int positionBras; // Position actuelle du bras du disque
     private String direction; // Sens de déplacement du bras ("gauche" ou "droite")
+    private final int dernierePiste; // Piste la plus haute du disque
+    private int lot = 16; // Requêtes par lot (NSTEP, DEADLINE)
+    private int echeance = 64; // Services qu'une requête peut attendre avant de passer en priorité (DEADLINE)
+    private int[] triees; // Requêtes triées (null tant qu'aucun algorithme n'en a eu besoin)
 
-    // Constructeur pour initialiser les requêtes, la position du bras et la direction
+    // Constructeur pour initialiser les requêtes, la position du bras et la direction (disque de 200 pistes)
     public GestionDisque(List<Integer> requetes, int positionInitiale, String direction) {
-        this.requetes = new ArrayList<>(requetes); // Copie des requêtes pour éviter les modifications externes
+        this(requetes, positionInitiale, direction, 200);
+    }
+
+    public GestionDisque(List<Integer> requetes, int positionInitiale, String direction, int nombrePistes) {
+        this(versTableau(requetes), positionInitiale, direction, nombrePistes);
+    }
+
+    public GestionDisque(ListeEntiers requetes, int positionInitiale, String direction, int nombrePistes) {
+        this(requetes.versTableau(), positionInitiale, direction, nombrePistes);
+    }
+
+    // requetes : copie propre à ce GestionDisque, pour éviter les modifications externes
+    private GestionDisque(int[] requetes, int positionInitiale, String direction, int nombrePistes) {
+        if (nombrePistes < 1) {
+            throw new IllegalArgumentException("Nombre de pistes du disque invalide : " + nombrePistes);
+        }
+        this.requetes = requetes;
         this.positionBras = positionInitiale; // Position initiale du bras
         this.direction = direction; // Direction initiale du bras
+        this.dernierePiste = nombrePistes - 1;
+        verifierPiste(positionInitiale);
+        for (int piste : this.requetes) {
+            verifierPiste(piste);
+        }
     }
 
-    // 1 FIFO (First In First Out) : Sert les requêtes dans l'ordre d'arrivée
-    public int fifo() {
-        int deplacementTotal = 0; // Variable pour stocker le déplacement total du bras
-        int positionActuelle = positionBras; // Position actuelle du bras
+    // Disque décrit par la configuration (géométrie, position et direction du bras, lots, échéance)
+    static GestionDisque creer(ListeEntiers requetes, Configuration configuration) {
+        GestionDisque disque = new GestionDisque(requetes, configuration.positionInitiale,
+                configuration.directionInitiale, configuration.disqueNombrePistes);
+        disque.definirLot(configuration.disqueLot);
+        disque.definirEcheance(configuration.disqueEcheance);
+        return disque;
+    }
 
-        // Parcours de toutes les requêtes dans l'ordre
-        for (int r : requetes) {
-            deplacementTotal += Math.abs(r - positionActuelle); // Calcul du déplacement entre la position actuelle et la requête
-            positionActuelle = r; // Mise à jour de la position actuelle du bras
+    public void definirLot(int lot) {
+        if (lot < 1) {
+            throw new IllegalArgumentException("Taille de lot du disque invalide : " + lot);
         }
-        return deplacementTotal; // Retour du déplacement total
+        this.lot = lot;
     }
 
-    // 2️ SSF (Shortest Seek First) : Sert la requête la plus proche du bras en priorité
-    public int ssf() {
-        int deplacementTotal = 0;
-        int positionActuelle = positionBras;
-        List<Integer> aTraiter = new ArrayList<>(requetes); // Copie de la liste des requêtes à traiter
+    public void definirEcheance(int echeance) {
+        if (echeance < 1) {
+            throw new IllegalArgumentException("Échéance du disque invalide : " + echeance);
+        }
+        this.echeance = echeance;
+    }
 
-        // Tant qu'il reste des requêtes à traiter
-        while (!aTraiter.isEmpty()) {
-            int prochain = trouverPlusProche(positionActuelle, aTraiter); // Trouve la requête la plus proche
-            deplacementTotal += Math.abs(prochain - positionActuelle); // Calcul du déplacement
-            positionActuelle = prochain; // Mise à jour de la position du bras
-            aTraiter.remove(Integer.valueOf(prochain)); // Suppression de la requête traitée
+    private static int[] versTableau(List<Integer> requetes) {
+        int[] tableau = new int[requetes.size()];
+        int i = 0;
+        for (int piste : requetes) {
+            tableau[i++] = piste;
         }
-        return deplacementTotal;
+        return tableau;
     }
 
-    // Méthode auxiliaire pour trouver la requête la plus proche
-    private int trouverPlusProche(int position, List<Integer> liste) {
-        return liste.stream().min(Comparator.comparingInt(r -> Math.abs(r - position))).orElse(position);
+    private void verifierPiste(int piste) {
+        if (piste < 0 || piste > dernierePiste) {
+            throw new IllegalArgumentException("Piste hors du disque (0 à " + dernierePiste + ") : " + piste);
+        }
     }
 
-    // 3️ SCAN (Algorithme de l'ascenseur)
-    public int scan() {
-        List<Integer> copieRequetes = new ArrayList<>(requetes); // Copie des requêtes
-        copieRequetes.add(positionBras); // Ajout de la position initiale du bras dans la liste
+    // Nom usuel d'un algorithme (alias compris), null s'il est inconnu
+    public static String nomAlgorithme(String algorithme) {
+        switch (algorithme.toLowerCase()) {
+            case "fifo":
+                return "FIFO";
+            case "plus-proche": // alias pour ssf
+            case "ssf":
+                return "SSF";
+            case "ascenseur":
+            case "scan":
+                return "SCAN";
+            case "cscan":
+                return "CSCAN";
+            case "look":
+                return "LOOK";
+            case "clook":
+            case "c-look":
+                return "CLOOK";
+            case "nstep":
+            case "n-step-scan":
+                return "NSTEP";
+            case "fscan":
+                return "FSCAN";
+            case "deadline":
+            case "echeance":
+                return "DEADLINE";
+            default:
+                return null;
+        }
+    }
 
-        // Ajout des bornes 0 et 199 si elles ne sont pas déjà présentes
-        if (!copieRequetes.contains(0)) copieRequetes.add(0);
-        if (!copieRequetes.contains(199)) copieRequetes.add(199);
+    // Résultat de l'algorithme nommé (IllegalArgumentException s'il est inconnu)
+    public ResultatDisque executer(String algorithme) {
+        String nom = nomAlgorithme(algorithme);
+        if (nom == null) {
+            throw new IllegalArgumentException("Algorithme disque inconnu : " + algorithme);
+        }
+        switch (nom) {
+            case "SSF":
+                return ssf();
+            case "SCAN":
+                return scan();
+            case "CSCAN":
+                return cscan();
+            case "LOOK":
+                return look();
+            case "CLOOK":
+                return clook();
+            case "NSTEP":
+                return nstep();
+            case "FSCAN":
+                return fscan();
+            case "DEADLINE":
+                return deadline();
+            default:
+                return fifo();
+        }
+    }
 
-        Collections.sort(copieRequetes); // Tri des requêtes pour parcourir dans l'ordre
-        int index = copieRequetes.indexOf(positionBras); // Trouve la position du bras après tri
-        int deplacementTotal = 0;
-        int positionActuelle = positionBras;
-        List<Integer> sequence = new ArrayList<>(); // Liste pour afficher la séquence de traitement
+    // 1 FIFO (First In First Out) : Sert les requêtes dans l'ordre d'arrivée
+    public ResultatDisque fifo() {
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, requetes.length, requetes.length);
+        for (int r : requetes) {
+            parcours.visiter(r, true);
+        }
+        return parcours.resultat("FIFO");
+    }
+
+    // 2️ SSF (Shortest Seek First) : Sert la requête la plus proche du bras en priorité
+    public ResultatDisque ssf() {
+        int[] ordre = ordreSsf();
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, ordre.length, ordre.length);
+        for (int piste : ordre) {
+            parcours.visiter(piste, true);
+        }
+        return parcours.resultat("SSF");
+    }
+
+    // Ordre de service de SSF, en O(n log n). Les pistes servies forment toujours un intervalle des
+    // pistes triées autour de la position de départ : chaque étape sert la piste voisine la plus proche,
+    // à gauche ou à droite de l'intervalle. Une piste atteinte est servie autant de fois qu'elle est
+    // demandée (déplacement nul). À égalité de distance, la piste demandée la première l'emporte,
+    // comme avec la recherche linéaire du premier minimum dans la liste des requêtes.
+    public int[] ordreSsf() {
+        int[] triees = triees();
+        int n = triees.length;
+        // Pistes distinctes, avec leur nombre de requêtes
+        int[] pistes = new int[n];
+        int[] nombres = new int[n];
+        int distinctes = 0;
+        for (int piste : triees) {
+            if (distinctes > 0 && pistes[distinctes - 1] == piste) {
+                nombres[distinctes - 1]++;
+            } else {
+                pistes[distinctes] = piste;
+                nombres[distinctes] = 1;
+                distinctes++;
+            }
+        }
+        // Rang de la première requête de chaque piste distincte
+        int[] premiers = new int[distinctes];
+        Arrays.fill(premiers, -1);
+        for (int i = 0; i < n; i++) {
+            int d = Arrays.binarySearch(pistes, 0, distinctes, requetes[i]);
+            if (premiers[d] < 0) premiers[d] = i;
+        }
+
+        // droite : première piste ≥ position du bras ; gauche : la précédente
+        int droite = Arrays.binarySearch(pistes, 0, distinctes, positionBras);
+        if (droite < 0) droite = -droite - 1;
+        int gauche = droite - 1;
+        int[] ordre = new int[n];
+        int servies = 0;
+        int position = positionBras;
+        while (gauche >= 0 || droite < distinctes) {
+            int suivante;
+            if (gauche < 0) {
+                suivante = droite++;
+            } else if (droite >= distinctes) {
+                suivante = gauche--;
+            } else {
+                long distanceGauche = (long) position - pistes[gauche];
+                long distanceDroite = (long) pistes[droite] - position;
+                if (distanceGauche < distanceDroite
+                        || (distanceGauche == distanceDroite && premiers[gauche] < premiers[droite])) {
+                    suivante = gauche--;
+                } else {
+                    suivante = droite++;
+                }
+            }
+            position = pistes[suivante];
+            for (int k = 0; k < nombres[suivante]; k++) {
+                ordre[servies++] = position;
+            }
+        }
+        return ordre;
+    }
+
+    // 3️ SCAN (Algorithme de l'ascenseur)
+    public ResultatDisque scan() {
+        Pistes pistes = pistesAvecBornes(); // Requêtes triées, position du bras et bornes 0 et dernierePiste
+        int index = pistes.indexBras;
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, requetes.length, pistes.valeurs.length);
 
         if ("droite".equals(direction)) {
             // Déplacement vers la droite
-            for (int i = index; i < copieRequetes.size(); i++) {
-                sequence.add(copieRequetes.get(i));
-                deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-                positionActuelle = copieRequetes.get(i);
+            for (int i = index; i < pistes.valeurs.length; i++) {
+                parcours.visiter(pistes.valeurs[i], pistes.requete(i));
             }
             // Retour vers la gauche
             for (int i = index - 1; i >= 0; i--) {
-                sequence.add(copieRequetes.get(i));
-                deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-                positionActuelle = copieRequetes.get(i);
+                parcours.visiter(pistes.valeurs[i], pistes.requete(i));
             }
         } else {
             // Déplacement vers la gauche
             for (int i = index; i >= 0; i--) {
-                sequence.add(copieRequetes.get(i));
-                deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-                positionActuelle = copieRequetes.get(i);
+                parcours.visiter(pistes.valeurs[i], pistes.requete(i));
             }
             // Retour vers la droite
-            for (int i = index + 1; i < copieRequetes.size(); i++) {
-                sequence.add(copieRequetes.get(i));
-                deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-                positionActuelle = copieRequetes.get(i);
+            for (int i = index + 1; i < pistes.valeurs.length; i++) {
+                parcours.visiter(pistes.valeurs[i], pistes.requete(i));
             }
         }
-
-        System.out.println("SCAN Séquence : " + sequence);
-        return deplacementTotal;
+        return parcours.resultat("SCAN");
     }
 
     // 4️ CSCAN (Circular SCAN)
-    public int cscan() {
-        List<Integer> copieRequetes = new ArrayList<>(requetes);
-        copieRequetes.add(positionBras);
+    public ResultatDisque cscan() {
+        Pistes pistes = pistesAvecBornes();
+        int index = pistes.indexBras;
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, requetes.length, pistes.valeurs.length + 1);
 
-        // Ajout des bornes 0 et 199 si elles ne sont pas déjà présentes
-        if (!copieRequetes.contains(0)) copieRequetes.add(0);
-        if (!copieRequetes.contains(199)) copieRequetes.add(199);
-
-        Collections.sort(copieRequetes);
-        int index = copieRequetes.indexOf(positionBras);
-        int deplacementTotal = 0;
-        int positionActuelle = positionBras;
-        List<Integer> sequence = new ArrayList<>();
-
-        // Parcours vers la droite jusqu'à la fin (199)
-        for (int i = index; i < copieRequetes.size(); i++) {
-            sequence.add(copieRequetes.get(i));
-            deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-            positionActuelle = copieRequetes.get(i);
+        // Parcours vers la droite jusqu'à la fin (dernière piste)
+        int derniere = positionBras;
+        for (int i = index; i < pistes.valeurs.length; i++) {
+            parcours.visiter(pistes.valeurs[i], pistes.requete(i));
+            derniere = pistes.valeurs[i];
         }
 
         // Retour circulaire à 0 (uniquement si ce n'est pas déjà le cas)
-        if (sequence.get(sequence.size() - 1) != 0) {
-            deplacementTotal += Math.abs(199 - 0);
-            sequence.add(0);
+        if (derniere != 0) {
+            parcours.sauter(0, dernierePiste);
         }
-        positionActuelle = 0;
 
         // Reprendre du début et traiter les requêtes restantes
         for (int i = 0; i < index; i++) {
-            sequence.add(copieRequetes.get(i));
-            deplacementTotal += Math.abs(copieRequetes.get(i) - positionActuelle);
-            positionActuelle = copieRequetes.get(i);
+            parcours.visiter(pistes.valeurs[i], pistes.requete(i));
+        }
+        return parcours.resultat("CSCAN");
+    }
+
+    // 5 LOOK : comme SCAN, mais le bras fait demi-tour à la dernière requête au lieu d'aller au bord
+    public ResultatDisque look() {
+        int[] triees = triees();
+        int n = triees.length;
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, n, n);
+        if ("droite".equals(direction)) {
+            int index = premierIndex(triees, 0, n, positionBras); // première requête ≥ bras
+            for (int i = index; i < n; i++) {
+                parcours.visiter(triees[i], true);
+            }
+            for (int i = index - 1; i >= 0; i--) {
+                parcours.visiter(triees[i], true);
+            }
+        } else {
+            int index = premierIndex(triees, 0, n, positionBras + 1); // première requête > bras
+            for (int i = index - 1; i >= 0; i--) {
+                parcours.visiter(triees[i], true);
+            }
+            for (int i = index; i < n; i++) {
+                parcours.visiter(triees[i], true);
+            }
+        }
+        return parcours.resultat("LOOK");
+    }
+
+    // 6 C-LOOK : comme CSCAN (toujours vers la droite), mais le retour se fait de la dernière requête
+    // à la plus basse, compté comme un déplacement ordinaire
+    public ResultatDisque clook() {
+        int[] triees = triees();
+        int n = triees.length;
+        int index = premierIndex(triees, 0, n, positionBras);
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, n, n);
+        for (int i = index; i < n; i++) {
+            parcours.visiter(triees[i], true);
+        }
+        for (int i = 0; i < index; i++) {
+            parcours.visiter(triees[i], true);
         }
+        return parcours.resultat("CLOOK");
+    }
+
+    // 7 N-step SCAN : les requêtes sont servies par lots de `lot`, dans l'ordre de la liste ; chaque lot
+    // est balayé comme SCAN (le bras ne va au bord que pour faire demi-tour) avant de passer au suivant
+    public ResultatDisque nstep() {
+        return balayageParLots(lot, "NSTEP");
+    }
+
+    // 8 FSCAN : la file est gelée au début de chaque balayage, les nouvelles requêtes attendant le suivant.
+    // Toutes les requêtes étant présentes au départ, le premier balayage les contient toutes.
+    public ResultatDisque fscan() {
+        return balayageParLots(Math.max(1, requetes.length), "FSCAN");
+    }
 
-        System.out.println("CSCAN Séquence : " + sequence);
-        return deplacementTotal;
+    private ResultatDisque balayageParLots(int taille, String nom) {
+        int n = requetes.length;
+        int nombreLots = (n + taille - 1) / taille;
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, n, n + nombreLots);
+        int[] pistes = new int[Math.min(taille, n)];
+        int position = positionBras;
+        boolean versDroite = !"gauche".equals(direction);
+        for (int debut = 0; debut < n; debut += taille) {
+            int m = Math.min(taille, n - debut);
+            for (int i = 0; i < m; i++) {
+                pistes[i] = requetes[debut + i];
+            }
+            Arrays.sort(pistes, 0, m);
+            // index : première requête qui n'est pas devant le bras dans le sens de retour
+            int index = premierIndex(pistes, 0, m, versDroite ? position : position + 1);
+            if (versDroite) {
+                for (int i = index; i < m; i++) {
+                    parcours.visiter(pistes[i], true);
+                }
+                if (index > 0) {
+                    // Au bord puis demi-tour pour les requêtes restées derrière
+                    parcours.visiter(dernierePiste, false);
+                    versDroite = false;
+                    for (int i = index - 1; i >= 0; i--) {
+                        parcours.visiter(pistes[i], true);
+                    }
+                }
+            } else {
+                for (int i = index - 1; i >= 0; i--) {
+                    parcours.visiter(pistes[i], true);
+                }
+                if (index < m) {
+                    parcours.visiter(0, false);
+                    versDroite = true;
+                    for (int i = index; i < m; i++) {
+                        parcours.visiter(pistes[i], true);
+                    }
+                }
+            }
+            position = parcours.position();
+        }
+        return parcours.resultat(nom);
     }
 
-    // Génération du fichier log avec les résultats
-    public void genererLog(String nomFichier, String algo, int deplacementTotal) {
-        try (FileWriter writer = new FileWriter(nomFichier, true)) {
-            writer.write(algo + " - Déplacement total : " + deplacementTotal + " pistes\n");
-            writer.write("Requêtes traitées : " + requetes.toString() + "\n");
-            writer.write("--------------------------------\n");
-        } catch (IOException e) {
-            System.err.println("Erreur lors de l'écriture du fichier log : " + e.getMessage());
+    // 9 DEADLINE : C-LOOK par lots de `lot` requêtes. Au début de chaque lot, si la plus ancienne requête
+    // en attente a attendu au moins `echeance` services, elle est servie d'abord et le balayage reprend
+    // depuis sa piste. Les pistes déjà servies sont sautées grâce à une union-find sur les indices triés.
+    public ResultatDisque deadline() {
+        int n = requetes.length;
+        // Requêtes triées par (piste, rang dans la liste)
+        long[] cles = new long[n];
+        for (int i = 0; i < n; i++) {
+            cles[i] = ((long) requetes[i] << 32) | i;
+        }
+        Arrays.sort(cles);
+        int[] pistes = new int[n];
+        int[] indiceTrie = new int[n]; // indice trié de chaque requête
+        for (int k = 0; k < n; k++) {
+            pistes[k] = (int) (cles[k] >>> 32);
+            indiceTrie[(int) cles[k]] = k;
+        }
+        int[] suivante = new int[n + 1]; // suivante[k] mène à la première requête non servie d'indice ≥ k
+        for (int k = 0; k <= n; k++) {
+            suivante[k] = k;
+        }
+        boolean[] servie = new boolean[n];
+
+        ResultatDisque.Parcours parcours = new ResultatDisque.Parcours(positionBras, n, n);
+        int position = positionBras;
+        int plusAncienne = 0;
+        for (int s = 0; s < n; s++) {
+            while (servie[plusAncienne]) {
+                plusAncienne++;
+            }
+            int k;
+            if (s % lot == 0 && s >= echeance) {
+                k = indiceTrie[plusAncienne];
+            } else {
+                k = nonServie(suivante, premierIndex(pistes, 0, n, position));
+                if (k == n) k = nonServie(suivante, 0); // retour à la plus basse
+            }
+            servie[(int) cles[k]] = true;
+            suivante[k] = k + 1;
+            position = pistes[k];
+            parcours.visiter(position, true);
+        }
+        return parcours.resultat("DEADLINE");
+    }
+
+    // Première requête non servie d'indice ≥ k (compression de chemin par moitiés)
+    private static int nonServie(int[] suivante, int k) {
+        while (suivante[k] != k) {
+            suivante[k] = suivante[suivante[k]];
+            k = suivante[k];
+        }
+        return k;
+    }
+
+    // Premier indice de [debut, fin) dont la piste est ≥ valeur (pistes triées)
+    private static int premierIndex(int[] pistes, int debut, int fin, int valeur) {
+        while (debut < fin) {
+            int milieu = (debut + fin) >>> 1;
+            if (pistes[milieu] < valeur) {
+                debut = milieu + 1;
+            } else {
+                fin = milieu;
+            }
+        }
+        return debut;
+    }
+
+    // Copie triée des requêtes, partagée par les algorithmes
+    private int[] triees() {
+        if (triees == null) {
+            triees = requetes.clone();
+            Arrays.sort(triees);
+        }
+        return triees;
+    }
+
+    // Pistes parcourues par SCAN et CSCAN : les requêtes triées, la position du bras et les bornes
+    // 0 et dernierePiste (sauf si elles sont déjà demandées ou occupées par le bras)
+    private static final class Pistes {
+        int[] valeurs;
+        int[] ajoutees = new int[3]; // indices des pistes qui ne sont pas des requêtes (bras, bornes)
+        int nombreAjoutees;
+        int indexBras;
+
+        boolean requete(int i) {
+            for (int k = 0; k < nombreAjoutees; k++) {
+                if (ajoutees[k] == i) return false;
+            }
+            return true;
+        }
+    }
+
+    private Pistes pistesAvecBornes() {
+        int[] triees = triees();
+        boolean borneGauche = positionBras != 0 && Arrays.binarySearch(triees, 0) < 0;
+        boolean borneDroite = positionBras != dernierePiste && Arrays.binarySearch(triees, dernierePiste) < 0;
+        int[] extras = new int[3];
+        int nombreExtras = 0;
+        extras[nombreExtras++] = positionBras;
+        if (borneGauche) extras[nombreExtras++] = 0;
+        if (borneDroite) extras[nombreExtras++] = dernierePiste;
+        Arrays.sort(extras, 0, nombreExtras);
+
+        // Fusion : une piste ajoutée passe avant les requêtes égales (le bras est à la première occurrence)
+        Pistes pistes = new Pistes();
+        pistes.valeurs = new int[triees.length + nombreExtras];
+        int i = 0, e = 0;
+        for (int k = 0; k < pistes.valeurs.length; k++) {
+            if (e < nombreExtras && (i == triees.length || extras[e] <= triees[i])) {
+                if (extras[e] == positionBras) pistes.indexBras = k; // les bornes ajoutées diffèrent du bras
+                pistes.valeurs[k] = extras[e++];
+                pistes.ajoutees[pistes.nombreAjoutees++] = k;
+            } else {
+                pistes.valeurs[k] = triees[i++];
+            }
         }
+        return pistes;
     }
 }
@@ -8,221 +8,544 @@ public class GestionMemoire {
         FIFO,
         NRU,
         SECONDE_CHANCE,
-        OPTIMAL
+        OPTIMAL,
+        LRU,
+        LFU,
+        ARC,
+        WSCLOCK
     }
 
-    // Structure pour représenter une page en mémoire
-    private static class Page {
-        int numeroPage;
-        String processusId;
-        boolean referenced;
-        boolean modified;
-        long lastAccess;
-        
-        public Page(int numeroPage, String processusId) {
-            this.numeroPage = numeroPage;
-            this.processusId = processusId;
-            this.referenced = false;
-            this.modified = false;
-            this.lastAccess = System.currentTimeMillis();
+    // Ensemble de cadres : ceux d'un processus en allocation locale, toute la mémoire en allocation globale.
+    // Une zone occupe les cadres [base, base + taille) de la table des cadres ; le numéro d'un cadre
+    // dans la zone est son décalage par rapport à la base. Les cadres sont remplis dans l'ordre puis
+    // remplacés sur place : la zone sert de tampon circulaire et l'aiguille désigne le cadre
+    // chargé le plus anciennement (tête de la file FIFO). Pour Seconde Chance et NRU, l'aiguille
+    // est persistante : chaque recherche de victime reprend là où la précédente s'est arrêtée.
+    // Les autres algorithmes rangent leur état propre dans la structure qui leur correspond.
+    private static class ZoneCadres {
+        final int base;
+        final int taille;
+        int occupes;
+        int aiguille;
+        TasProchainUsage tasOptimal; // OPTIMAL : cadres ordonnés par prochaine utilisation
+        ListesCadres ordreLRU;       // LRU : cadres du moins au plus récemment utilisé
+        FrequencesLFU frequences;    // LFU : classes de fréquence d'accès
+        EtatARC arc;                 // ARC : listes T1/T2 et listes fantômes
+
+        ZoneCadres(int base, int taille) {
+            this.base = base;
+            this.taille = taille;
+        }
+
+        boolean pleine() {
+            return occupes == taille;
+        }
+    }
+
+    // Références futures d'un processus, connues à l'avance pour l'algorithme OPTIMAL
+    private static class ReferencesFutures {
+        final int[] pages;
+        final int[] prochainUsage; // Indice de la prochaine référence à la même page (JAMAIS sinon)
+        int curseur;               // Indice de la prochaine référence attendue
+
+        ReferencesFutures(int[] pages) {
+            this.pages = pages;
+            this.prochainUsage = new int[pages.length];
+            // Parcours à rebours : dernierIndice donne, pour chaque page, sa référence suivante
+            IndexPages dernierIndice = new IndexPages(pages.length);
+            for (int i = pages.length - 1; i >= 0; i--) {
+                long cle = IndexPages.cle(0, pages[i]);
+                int suivant = dernierIndice.get(cle);
+                prochainUsage[i] = (suivant == IndexPages.ABSENT) ? JAMAIS : suivant;
+                dernierIndice.put(cle, i);
+            }
         }
     }
 
+    private static final int JAMAIS = Integer.MAX_VALUE;
+    private static final int AUCUNE_PERIODE = -1;
+    private static final long FENETRE_TRAVAIL_DEFAUT = 200;
+    private static final int LISTE_LRU = 0;
+
     // Attributs de la classe
     private final int nombreCadresTotal;
     private final int nombreCadresLocal;
     private final boolean allocationLocale;
     private final AlgorithmeRemplacement algorithme;
-    private final Map<String, List<Page>> cadresParProcessus;
-    private final List<Page> cadresGlobaux;
-    private final Map<String, Queue<Page>> fifoQueues;
+    private final TableCadres table;       // Cadres physiques de toutes les zones
+    private int cadresAttribues;           // Cadres de la table déjà attribués à une zone
+    private ZoneCadres[] zonesParProcessus; // Numéro de processus -> zone (allocation locale)
+    private int[] basesLibres = new int[16]; // Zones rendues par les processus terminés (allocation locale)
+    private int nombreZonesLibres;
+    private final ZoneCadres zoneGlobale;
+    private final Map<String, Integer> numerosProcessus; // Identifiants des processus -> numéros denses
+    private final List<String> nomsProcessus;            // Numéros denses -> identifiants
+    private final IndexPages index; // (processus, page) -> numéro du cadre dans sa zone
+    private ReferencesFutures[] referencesFutures;
+    private int[] residentes = new int[16];   // Pages chargées de chaque numéro de processus
+    private boolean[] termines = new boolean[16]; // Numéros dont le processus est terminé
+    private int[] numerosLibres = new int[16]; // Numéros réutilisables (processus terminés sans page chargée)
+    private int nombreNumerosLibres;
     private int defautsDePage;
+    private int pagesEcrites; // Pages modifiées recopiées sur disque avant de quitter leur cadre
     private final int tempsChargePage;
+    private int periodeCourante; // Nombre d'interruptions d'horloge reçues
+    private long nombreAcces;
+    private final Horloge horloge; // Temps simulé de l'ordonnanceur, utilisé pour dater les accès
+    private long fenetreTravail = FENETRE_TRAVAIL_DEFAUT; // τ de l'ensemble de travail pour WSCLOCK (en ms)
+    private AnalyseurPiles references; // Enregistrement de la suite des références (null si inactif)
 
-    // Constructeur
+    // Constructeur (horloge propre, qui reste à 0 tant que personne ne la fait avancer)
     public GestionMemoire(int nombreCadresTotal, int nombreCadresLocal, boolean allocationLocale, 
                          String algorithme, int tempsChargePage) {
+        this(nombreCadresTotal, nombreCadresLocal, allocationLocale, algorithme, tempsChargePage, new HorlogeSimulee());
+    }
+
+    // Constructeur avec l'horloge de la simulation
+    public GestionMemoire(int nombreCadresTotal, int nombreCadresLocal, boolean allocationLocale,
+                         String algorithme, int tempsChargePage, Horloge horloge) {
+        this(nombreCadresTotal, nombreCadresLocal, allocationLocale, algorithme, tempsChargePage, horloge, false);
+    }
+
+    // Constructeur complet : tableDirecte place la table des cadres hors du tas Java (ByteBuffer direct)
+    public GestionMemoire(int nombreCadresTotal, int nombreCadresLocal, boolean allocationLocale,
+                         String algorithme, int tempsChargePage, Horloge horloge, boolean tableDirecte) {
+        this.horloge = horloge;
         this.nombreCadresTotal = nombreCadresTotal;
         this.nombreCadresLocal = nombreCadresLocal;
         this.allocationLocale = allocationLocale;
         this.algorithme = AlgorithmeRemplacement.valueOf(algorithme.toUpperCase());
         this.tempsChargePage = tempsChargePage;
-        this.cadresParProcessus = new HashMap<>();
-        this.cadresGlobaux = new ArrayList<>();
-        this.fifoQueues = new HashMap<>();
+        // En allocation locale la table grandit au fur et à mesure que des processus obtiennent leur zone
+        this.table = TableCadres.creer(allocationLocale ? nombreCadresLocal * 16 : nombreCadresTotal, tableDirecte);
+        this.zonesParProcessus = new ZoneCadres[16];
+        this.zoneGlobale = allocationLocale ? null : creerZone(nombreCadresTotal);
+        this.numerosProcessus = new HashMap<>();
+        this.nomsProcessus = new ArrayList<>();
+        this.index = new IndexPages(allocationLocale ? nombreCadresLocal : nombreCadresTotal);
+        this.referencesFutures = new ReferencesFutures[16];
         this.defautsDePage = 0;
     }
 
-    // Méthode pour accéder à une page
+    // Numéro dense associé à l'identifiant d'un processus (attribué au premier appel).
+    // L'ordonnanceur l'obtient une fois à la lecture des programmes puis n'utilise plus que le numéro.
+    // Les numéros des processus terminés sont réutilisés (voir libererProcessus) : il y en a autant que
+    // de processus vivants, plus ceux dont des pages restent en mémoire globale.
+    public int enregistrerProcessus(String processusId) {
+        Integer numero = numerosProcessus.get(processusId);
+        if (numero == null) {
+            if (nombreNumerosLibres > 0) {
+                numero = numerosLibres[--nombreNumerosLibres];
+                nomsProcessus.set(numero, processusId);
+                termines[numero] = false;
+            } else {
+                numero = nomsProcessus.size();
+                nomsProcessus.add(processusId);
+                agrandirNumeros(numero);
+            }
+            numerosProcessus.put(processusId, numero);
+        }
+        return numero;
+    }
+
+    // Le processus est terminé : son état est libéré, pour que la mémoire occupée dépende des seuls
+    // processus vivants. En allocation locale, ses pages sont retirées de l'index et sa zone de cadres
+    // rejoint les zones libres, reprises par les processus suivants. En allocation globale, ses pages
+    // restent dans leurs cadres jusqu'à leur remplacement (l'ordre de chaque algorithme n'est pas
+    // modifié) et son numéro n'est réutilisé qu'une fois la dernière remplacée.
+    // Tant que la suite des références est enregistrée (AnalyseurPiles), les numéros ne sont pas
+    // réutilisés : l'analyse distingue les processus par leur numéro.
+    public void libererProcessus(int numeroProcessus) {
+        agrandirNumeros(numeroProcessus);
+        if (termines[numeroProcessus]) return;
+        if (numeroProcessus < nomsProcessus.size()) {
+            numerosProcessus.remove(nomsProcessus.get(numeroProcessus), numeroProcessus);
+        }
+        if (numeroProcessus < referencesFutures.length) {
+            referencesFutures[numeroProcessus] = null;
+        }
+        if (allocationLocale && numeroProcessus < zonesParProcessus.length && zonesParProcessus[numeroProcessus] != null) {
+            ZoneCadres zone = zonesParProcessus[numeroProcessus];
+            zonesParProcessus[numeroProcessus] = null;
+            for (int cadre = zone.base; cadre < zone.base + zone.occupes; cadre++) {
+                index.supprimer(IndexPages.cle(numeroProcessus, table.page(cadre)));
+            }
+            residentes[numeroProcessus] = 0;
+            if (nombreZonesLibres == basesLibres.length) {
+                basesLibres = Arrays.copyOf(basesLibres, nombreZonesLibres * 2);
+            }
+            basesLibres[nombreZonesLibres++] = zone.base;
+        }
+        termines[numeroProcessus] = true;
+        if (residentes[numeroProcessus] == 0) {
+            rendreNumero(numeroProcessus);
+        }
+    }
+
+    private void agrandirNumeros(int numeroProcessus) {
+        if (numeroProcessus >= residentes.length) {
+            int taille = Math.max(numeroProcessus + 1, residentes.length * 2);
+            residentes = Arrays.copyOf(residentes, taille);
+            termines = Arrays.copyOf(termines, taille);
+        }
+    }
+
+    private void rendreNumero(int numeroProcessus) {
+        if (references != null) return;
+        if (nombreNumerosLibres == numerosLibres.length) {
+            numerosLibres = Arrays.copyOf(numerosLibres, nombreNumerosLibres * 2);
+        }
+        numerosLibres[nombreNumerosLibres++] = numeroProcessus;
+    }
+
+    // Cadres de la table attribués à des zones (croît avec le nombre de processus vivants)
+    int cadresAttribues() {
+        return cadresAttribues;
+    }
+
+    // Numéros de processus attribués depuis le début (réutilisés compris)
+    int nombreNumeros() {
+        return nomsProcessus.size();
+    }
+
+    // Pages présentes dans l'index
+    int pagesIndexees() {
+        return index.taille();
+    }
+
+    // Méthode pour accéder à une page en lecture
     public boolean accederPage(String processusId, int numeroPage) {
-        // Vérifier si la page est déjà en mémoire
-        if (estEnMemoire(processusId, numeroPage)) {
-            mettreAJourAcces(processusId, numeroPage);
+        return accederPage(processusId, numeroPage, false);
+    }
+
+    // Méthode pour accéder à une page ; une écriture positionne le bit M
+    public boolean accederPage(String processusId, int numeroPage, boolean ecriture) {
+        return accederPage(enregistrerProcessus(processusId), numeroPage, ecriture);
+    }
+
+    // La page est-elle chargée dans un cadre ? (sans compter d'accès ni modifier les bits R et M)
+    public boolean estPresente(int numeroProcessus, int numeroPage) {
+        return index.get(IndexPages.cle(numeroProcessus, numeroPage)) != IndexPages.ABSENT;
+    }
+
+    // Accès à une page d'un processus désigné par son numéro (voir enregistrerProcessus)
+    public boolean accederPage(int numeroProcessus, int numeroPage, boolean ecriture) {
+        long cle = IndexPages.cle(numeroProcessus, numeroPage);
+        ZoneCadres zone = zone(numeroProcessus);
+        nombreAcces++;
+        if (references != null) {
+            references.enregistrer(numeroProcessus, numeroPage, ecriture, horloge.maintenant(), periodeCourante);
+        }
+
+        // Vérifier si la page est déjà en mémoire (recherche en temps constant dans l'index)
+        int cadre = index.get(cle);
+        if (cadre != IndexPages.ABSENT) {
+            marquerAcces(zone.base + cadre, ecriture);
+            noterSucces(zone, cadre, numeroProcessus, numeroPage);
             return true;
         }
 
         // Défaut de page
         defautsDePage++;
         
-        // Gérer le défaut de page selon la politique d'allocation
-        if (allocationLocale) {
-            return gererDefautPageLocal(processusId, numeroPage);
+        // Utiliser un cadre libre s'il y en a, sinon appliquer l'algorithme de remplacement
+        if (!zone.pleine()) {
+            cadre = zone.occupes++;
         } else {
-            return gererDefautPageGlobal(processusId, numeroPage);
+            cadre = remplacerPage(cle, zone);
+            if (cadre < 0) {
+                return false;
+            }
         }
+        table.charger(zone.base + cadre, numeroProcessus, numeroPage, AUCUNE_PERIODE);
+        index.put(cle, cadre);
+        agrandirNumeros(numeroProcessus);
+        residentes[numeroProcessus]++;
+        marquerAcces(zone.base + cadre, ecriture);
+        noterChargement(zone, cadre, cle, numeroProcessus, numeroPage);
+        return true;
     }
 
-    // Vérifier si une page est en mémoire
-    private boolean estEnMemoire(String processusId, int numeroPage) {
-        if (allocationLocale) {
-            List<Page> cadresProcessus = cadresParProcessus.get(processusId);
-            if (cadresProcessus != null) {
-                return cadresProcessus.stream()
-                    .anyMatch(p -> p.numeroPage == numeroPage && p.processusId.equals(processusId));
-            }
-            return false;
-        } else {
-            return cadresGlobaux.stream()
-                .anyMatch(p -> p.numeroPage == numeroPage && p.processusId.equals(processusId));
+    // Informer l'algorithme d'un accès à une page déjà présente
+    private void noterSucces(ZoneCadres zone, int cadre, int numeroProcessus, int numeroPage) {
+        switch (algorithme) {
+            case OPTIMAL:
+                zone.tasOptimal.mettreAJour(cadre, prochainUsage(numeroProcessus, numeroPage));
+                break;
+            case LRU:
+                zone.ordreLRU.deplacerEnQueue(LISTE_LRU, cadre);
+                break;
+            case LFU:
+                zone.frequences.acces(cadre);
+                break;
+            case ARC:
+                zone.arc.acces(cadre);
+                break;
+            default:
+                // FIFO, NRU, SECONDE_CHANCE et WSCLOCK n'utilisent que les bits R/M et la date d'accès
+                break;
         }
     }
 
-    // Gérer un défaut de page en allocation locale
-    private boolean gererDefautPageLocal(String processusId, int numeroPage) {
-        List<Page> cadresProcessus = cadresParProcessus.computeIfAbsent(processusId, k -> new ArrayList<>());
-        
-        // Si il y a de la place disponible
-        if (cadresProcessus.size() < nombreCadresLocal) {
-            Page nouvellePage = new Page(numeroPage, processusId);
-            cadresProcessus.add(nouvellePage);
-            if (algorithme == AlgorithmeRemplacement.FIFO) {
-                fifoQueues.computeIfAbsent(processusId, k -> new LinkedList<>()).add(nouvellePage);
-            }
-            return true;
+    // Informer l'algorithme du chargement d'une page dans un cadre (après un défaut)
+    private void noterChargement(ZoneCadres zone, int cadre, long cle, int numeroProcessus, int numeroPage) {
+        switch (algorithme) {
+            case OPTIMAL:
+                zone.tasOptimal.mettreAJour(cadre, prochainUsage(numeroProcessus, numeroPage));
+                break;
+            case LRU:
+                zone.ordreLRU.ajouterEnQueue(LISTE_LRU, cadre);
+                break;
+            case LFU:
+                zone.frequences.chargement(cadre);
+                break;
+            case ARC:
+                zone.arc.chargement(cadre, cle);
+                break;
+            default:
+                break;
         }
+    }
 
-        // Sinon, appliquer l'algorithme de remplacement
-        return remplacerPage(processusId, numeroPage, cadresProcessus);
+    // Taille τ de la fenêtre de l'ensemble de travail pour WSCLOCK (en ms de temps simulé)
+    public void definirFenetreTravail(long fenetreTravail) {
+        this.fenetreTravail = fenetreTravail;
     }
 
-    // Gérer un défaut de page en allocation globale
-    private boolean gererDefautPageGlobal(String processusId, int numeroPage) {
-        // Si il y a de la place disponible
-        if (cadresGlobaux.size() < nombreCadresTotal) {
-            Page nouvellePage = new Page(numeroPage, processusId);
-            cadresGlobaux.add(nouvellePage);
-            if (algorithme == AlgorithmeRemplacement.FIFO) {
-                fifoQueues.computeIfAbsent("global", k -> new LinkedList<>()).add(nouvellePage);
-            }
-            return true;
+    // Enregistrer désormais chaque accès dans l'analyseur (courbes de défauts, voir AnalyseurPiles)
+    public void enregistrerReferences(AnalyseurPiles analyseur) {
+        this.references = analyseur;
+    }
+
+    // Interruption d'horloge : les bits R de toutes les pages repassent à 0.
+    // Le bit R est dérivé de la période du dernier accès, il suffit donc de changer de période (O(1)).
+    public void interruptionHorloge() {
+        periodeCourante++;
+    }
+
+    // Accès au cadre (numéro absolu dans la table) : bit R, date du dernier accès et bit M si écriture
+    private void marquerAcces(int cadreTable, boolean ecriture) {
+        table.definirPeriodeReference(cadreTable, periodeCourante);
+        table.definirDernierAcces(cadreTable, horloge.maintenant());
+        if (ecriture) {
+            table.definirModifie(cadreTable, true);
         }
+    }
+
+    private boolean estReferencee(int cadreTable) {
+        return table.periodeReference(cadreTable) == periodeCourante;
+    }
 
-        // Sinon, appliquer l'algorithme de remplacement
-        return remplacerPage(processusId, numeroPage, cadresGlobaux);
+    // Fournir la suite complète des pages (LECTURE/ECRITURE) qu'un processus va référencer.
+    // Sans cette information, l'algorithme OPTIMAL considère qu'aucune page ne sera réutilisée.
+    public void definirReferences(String processusId, int[] pages) {
+        definirReferences(enregistrerProcessus(processusId), pages);
     }
 
-    // Remplacer une page selon l'algorithme choisi
-    private boolean remplacerPage(String processusId, int numeroPage, List<Page> cadres) {
-        Page pageARemplacer = null;
+    public void definirReferences(int numeroProcessus, int[] pages) {
+        if (numeroProcessus >= referencesFutures.length) {
+            referencesFutures = Arrays.copyOf(referencesFutures, Math.max(numeroProcessus + 1, referencesFutures.length * 2));
+        }
+        referencesFutures[numeroProcessus] = new ReferencesFutures(pages);
+    }
+
+    // Indice de la prochaine référence à la page après l'accès courant, puis avancer dans la suite.
+    // En allocation globale les indices de processus différents sont comparés directement :
+    // c'est une approximation, l'entrelacement réel des processus n'étant pas connu à l'avance.
+    private long prochainUsage(int numeroProcessus, int numeroPage) {
+        ReferencesFutures references = numeroProcessus < referencesFutures.length ? referencesFutures[numeroProcessus] : null;
+        if (references == null || references.curseur >= references.pages.length
+                || references.pages[references.curseur] != numeroPage) {
+            return JAMAIS;
+        }
+        return references.prochainUsage[references.curseur++];
+    }
+
+    // Zone de cadres dans laquelle se trouvent les pages du processus (créée au premier accès en allocation locale)
+    private ZoneCadres zone(int numeroProcessus) {
+        if (!allocationLocale) {
+            return zoneGlobale;
+        }
+        if (numeroProcessus >= zonesParProcessus.length) {
+            zonesParProcessus = Arrays.copyOf(zonesParProcessus, Math.max(numeroProcessus + 1, zonesParProcessus.length * 2));
+        }
+        ZoneCadres zone = zonesParProcessus[numeroProcessus];
+        if (zone == null) {
+            zone = nombreZonesLibres > 0 ? reprendreZone(basesLibres[--nombreZonesLibres]) : creerZone(nombreCadresLocal);
+            zonesParProcessus[numeroProcessus] = zone;
+        }
+        return zone;
+    }
+
+    // Attribuer les cadres suivants de la table à une nouvelle zone
+    private ZoneCadres creerZone(int nombreCadres) {
+        if (cadresAttribues + nombreCadres > table.capacite()) {
+            table.agrandir(Math.max(cadresAttribues + nombreCadres, table.capacite() * 2));
+        }
+        ZoneCadres zone = new ZoneCadres(cadresAttribues, nombreCadres);
+        cadresAttribues += nombreCadres;
+        initialiserAlgorithme(zone);
+        return zone;
+    }
+
+    // Zone rendue par un processus terminé, vidée pour un nouveau processus
+    private ZoneCadres reprendreZone(int base) {
+        ZoneCadres zone = new ZoneCadres(base, nombreCadresLocal);
+        initialiserAlgorithme(zone);
+        return zone;
+    }
+
+    // État propre à l'algorithme de remplacement pour une zone vide
+    private void initialiserAlgorithme(ZoneCadres zone) {
+        int nombreCadres = zone.taille;
+        switch (algorithme) {
+            case OPTIMAL:
+                zone.tasOptimal = new TasProchainUsage(nombreCadres);
+                break;
+            case LRU:
+                zone.ordreLRU = new ListesCadres(nombreCadres, 1);
+                break;
+            case LFU:
+                zone.frequences = new FrequencesLFU(nombreCadres);
+                break;
+            case ARC:
+                zone.arc = new EtatARC(nombreCadres);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Remplacer une page selon l'algorithme choisi ; retourne le cadre réutilisé (-1 si aucun)
+    private int remplacerPage(long cle, ZoneCadres zone) {
+        int cadre = -1;
         
         switch (algorithme) {
             case FIFO:
-                pageARemplacer = remplacementFIFO(processusId);
+                cadre = remplacementFIFO(zone);
                 break;
             case NRU:
-                pageARemplacer = remplacementNRU(cadres);
+                cadre = remplacementNRU(zone);
                 break;
             case SECONDE_CHANCE:
-                pageARemplacer = remplacementSecondeChance(cadres);
+                cadre = remplacementSecondeChance(zone);
                 break;
             case OPTIMAL:
-                pageARemplacer = remplacementOptimal(cadres);
+                cadre = remplacementOptimal(zone);
+                break;
+            case LRU:
+                cadre = zone.ordreLRU.tete(LISTE_LRU);
+                zone.ordreLRU.retirer(cadre);
+                break;
+            case LFU:
+                cadre = zone.frequences.victime();
+                break;
+            case ARC:
+                cadre = zone.arc.victime(cle);
+                break;
+            case WSCLOCK:
+                cadre = remplacementWSClock(zone);
                 break;
         }
 
-        if (pageARemplacer != null) {
-            // Remplacer la page
-            int index = cadres.indexOf(pageARemplacer);
-            Page nouvellePage = new Page(numeroPage, processusId);
-            cadres.set(index, nouvellePage);
-            
-            if (algorithme == AlgorithmeRemplacement.FIFO) {
-                Queue<Page> queue = fifoQueues.get(allocationLocale ? processusId : "global");
-                queue.remove(pageARemplacer);
-                queue.add(nouvellePage);
+        if (cadre >= 0) {
+            // Remplacer la page sur place : le cadre garde son numéro, seule son entrée dans l'index change
+            int cadreTable = zone.base + cadre;
+            int proprietaire = table.processus(cadreTable);
+            if (table.modifie(cadreTable)) {
+                pagesEcrites++;
+            }
+            index.supprimer(IndexPages.cle(proprietaire, table.page(cadreTable)));
+            // Dernière page d'un processus terminé (allocation globale) : son numéro redevient libre
+            if (--residentes[proprietaire] == 0 && termines[proprietaire]) {
+                rendreNumero(proprietaire);
             }
-            
-            return true;
         }
         
-        return false;
+        return cadre;
     }
 
-    // Implémentation de l'algorithme FIFO
-    private Page remplacementFIFO(String processusId) {
-        Queue<Page> queue = fifoQueues.get(allocationLocale ? processusId : "global");
-        return queue != null ? queue.peek() : null;
+    // Implémentation de l'algorithme FIFO : le cadre sous l'aiguille est le plus ancien,
+    // la page qui le remplace devient la plus récente et l'aiguille passe au cadre suivant
+    private int remplacementFIFO(ZoneCadres zone) {
+        int cadre = zone.aiguille;
+        zone.aiguille = (cadre + 1) % zone.taille;
+        return cadre;
     }
 
     // Implémentation de l'algorithme NRU (Not Recently Used)
-    private Page remplacementNRU(List<Page> cadres) {
-        // Classe 0: (R=0, M=0)
-        Optional<Page> classe0 = cadres.stream()
-            .filter(p -> !p.referenced && !p.modified)
-            .findFirst();
-        if (classe0.isPresent()) return classe0.get();
-
-        // Classe 1: (R=0, M=1)
-        Optional<Page> classe1 = cadres.stream()
-            .filter(p -> !p.referenced && p.modified)
-            .findFirst();
-        if (classe1.isPresent()) return classe1.get();
-
-        // Classe 2: (R=1, M=0)
-        Optional<Page> classe2 = cadres.stream()
-            .filter(p -> p.referenced && !p.modified)
-            .findFirst();
-        if (classe2.isPresent()) return classe2.get();
-
-        // Classe 3: (R=1, M=1)
-        return cadres.stream()
-            .filter(p -> p.referenced && p.modified)
-            .findFirst()
-            .orElse(null);
-    }
-
-    // Implémentation de l'algorithme Seconde Chance
-    private Page remplacementSecondeChance(List<Page> cadres) {
+    // Un seul passage à partir de l'aiguille : classe = 2*R + M, arrêt dès qu'une page de classe 0 est trouvée
+    private int remplacementNRU(ZoneCadres zone) {
+        int meilleurCadre = -1;
+        int meilleureClasse = 4;
+        int cadre = zone.aiguille;
+        for (int n = 0; n < zone.taille; n++) {
+            int cadreTable = zone.base + cadre;
+            int classe = (estReferencee(cadreTable) ? 2 : 0) + (table.modifie(cadreTable) ? 1 : 0);
+            if (classe < meilleureClasse) {
+                meilleureClasse = classe;
+                meilleurCadre = cadre;
+                if (classe == 0) break;
+            }
+            cadre = (cadre + 1 == zone.taille) ? 0 : cadre + 1;
+        }
+        // Reprendre la prochaine recherche après la victime pour répartir les remplacements
+        zone.aiguille = (meilleurCadre + 1) % zone.taille;
+        return meilleurCadre;
+    }
+
+    // Implémentation de l'algorithme Seconde Chance (horloge) : l'aiguille parcourt les cadres
+    // en remettant à 0 les bits R et s'arrête sur la première page non référencée
+    private int remplacementSecondeChance(ZoneCadres zone) {
         while (true) {
-            for (Page page : cadres) {
-                if (!page.referenced) {
-                    return page;
-                }
-                // Donner une seconde chance
-                page.referenced = false;
+            int cadre = zone.aiguille;
+            zone.aiguille = (cadre + 1 == zone.taille) ? 0 : cadre + 1;
+            if (!estReferencee(zone.base + cadre)) {
+                return cadre;
             }
+            // Donner une seconde chance
+            table.definirPeriodeReference(zone.base + cadre, AUCUNE_PERIODE);
         }
     }
 
     // Implémentation de l'algorithme Optimal
-    private Page remplacementOptimal(List<Page> cadres) {
-        // Dans un cas réel, cet algorithme nécessiterait de connaître les futures références
-        // Pour la simulation, nous pouvons utiliser une approche simplifiée
-        return cadres.get(0); // Pour la simulation, on prend simplement la première page
-    }
-
-    // Mettre à jour les bits d'accès d'une page
-    private void mettreAJourAcces(String processusId, int numeroPage) {
-        List<Page> cadres = allocationLocale ? cadresParProcessus.get(processusId) : cadresGlobaux;
-        if (cadres != null) {
-            cadres.stream()
-                .filter(p -> p.numeroPage == numeroPage && p.processusId.equals(processusId))
-                .findFirst()
-                .ifPresent(p -> {
-                    p.referenced = true;
-                    p.lastAccess = System.currentTimeMillis();
-                });
+    private int remplacementOptimal(ZoneCadres zone) {
+        // Le sommet du tas est le cadre dont la page sera réutilisée le plus tard (ou jamais)
+        return zone.tasOptimal.sommet();
+    }
+
+    // Implémentation de l'algorithme WSClock (ensemble de travail de fenêtre τ, parcouru par l'aiguille).
+    // Une page référencée appartient à l'ensemble de travail : son bit R est remis à 0.
+    // Une page non référencée depuis plus de τ est évincée si elle est propre ; si elle est modifiée,
+    // son écriture sur disque est lancée (comptée dans pagesEcrites, sans bloquer le processus)
+    // et, redevenue propre, elle pourra être évincée au passage suivant.
+    // Si aucune page n'est hors de l'ensemble de travail, la plus anciennement utilisée est évincée.
+    private int remplacementWSClock(ZoneCadres zone) {
+        long maintenant = horloge.maintenant();
+        int plusAncienne = zone.aiguille;
+        for (int n = 0; n < 2 * zone.taille; n++) {
+            int cadre = zone.aiguille;
+            zone.aiguille = (cadre + 1 == zone.taille) ? 0 : cadre + 1;
+            int cadreTable = zone.base + cadre;
+            if (estReferencee(cadreTable)) {
+                table.definirPeriodeReference(cadreTable, AUCUNE_PERIODE);
+                continue;
+            }
+            long dernierAcces = table.dernierAcces(cadreTable);
+            if (maintenant - dernierAcces > fenetreTravail) {
+                if (!table.modifie(cadreTable)) {
+                    return cadre;
+                }
+                pagesEcrites++;
+                table.definirModifie(cadreTable, false);
+                continue;
+            }
+            if (dernierAcces < table.dernierAcces(zone.base + plusAncienne)) {
+                plusAncienne = cadre;
+            }
         }
+        zone.aiguille = (plusAncienne + 1) % zone.taille;
+        return plusAncienne;
     }
 
     // Obtenir le nombre de défauts de page
@@ -230,31 +553,51 @@ public class GestionMemoire {
         return defautsDePage;
     }
 
+    // Obtenir le nombre de pages modifiées écrites sur disque (évictions et écritures anticipées de WSClock)
+    public int getPagesEcrites() {
+        return pagesEcrites;
+    }
+
+    // Obtenir le nombre total d'accès mémoire (succès et défauts)
+    public long getNombreAcces() {
+        return nombreAcces;
+    }
+
+    // Proportion des accès servis sans défaut de page
+    public double getTauxSucces() {
+        return nombreAcces == 0 ? 0.0 : (double) (nombreAcces - defautsDePage) / nombreAcces;
+    }
+
     // Obtenir la trace d'utilisation de la mémoire
     public String getTraceMemoire() {
         StringBuilder trace = new StringBuilder();
         trace.append("Trace d'utilisation de la mémoire:\n");
         trace.append("Nombre total de défauts de page: ").append(defautsDePage).append("\n");
+        trace.append("Nombre total d'accès: ").append(nombreAcces).append("\n");
+        trace.append("Pages modifiées écrites sur disque: ").append(pagesEcrites).append("\n");
+        trace.append(String.format("Taux de succès: %.2f %%%n", getTauxSucces() * 100));
         
         if (allocationLocale) {
-            cadresParProcessus.forEach((processusId, cadres) -> {
-                trace.append("Processus ").append(processusId).append(":\n");
-                cadres.forEach(page -> 
-                    trace.append("  Page ").append(page.numeroPage)
-                         .append(" (R=").append(page.referenced ? "1" : "0")
-                         .append(", M=").append(page.modified ? "1" : "0")
-                         .append(")\n")
-                );
-            });
+            for (int numero = 0; numero < zonesParProcessus.length; numero++) {
+                ZoneCadres zone = zonesParProcessus[numero];
+                if (zone == null) continue;
+                trace.append("Processus ").append(nomsProcessus.get(numero)).append(":\n");
+                for (int cadre = zone.base; cadre < zone.base + zone.occupes; cadre++) {
+                    trace.append("  Page ").append(table.page(cadre))
+                         .append(" (R=").append(estReferencee(cadre) ? "1" : "0")
+                         .append(", M=").append(table.modifie(cadre) ? "1" : "0")
+                         .append(")\n");
+                }
+            }
         } else {
             trace.append("Mémoire globale:\n");
-            cadresGlobaux.forEach(page -> 
-                trace.append("  Processus ").append(page.processusId)
-                     .append(", Page ").append(page.numeroPage)
-                     .append(" (R=").append(page.referenced ? "1" : "0")
-                     .append(", M=").append(page.modified ? "1" : "0")
-                     .append(")\n")
-            );
+            for (int cadre = 0; cadre < zoneGlobale.occupes; cadre++) {
+                trace.append("  Processus ").append(nomsProcessus.get(table.processus(cadre)))
+                     .append(", Page ").append(table.page(cadre))
+                     .append(" (R=").append(estReferencee(cadre) ? "1" : "0")
+                     .append(", M=").append(table.modifie(cadre) ? "1" : "0")
+                     .append(")\n");
+            }
         }
         
         return trace.toString();
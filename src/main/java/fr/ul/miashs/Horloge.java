@@ -0,0 +1,7 @@
+package fr.ul.miashs;
+
+// Source du temps simulé (en ms) partagée par l'ordonnanceur et les gestionnaires.
+// Les gestionnaires ne lisent jamais l'horloge murale : les résultats ne dépendent que de la simulation.
+public interface Horloge {
+    long maintenant();
+}
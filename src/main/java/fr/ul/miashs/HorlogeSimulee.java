@@ -0,0 +1,15 @@
+package fr.ul.miashs;
+
+// Horloge de la simulation : seul l'ordonnanceur la fait avancer, les gestionnaires la consultent.
+public class HorlogeSimulee implements Horloge {
+    private long temps;
+
+    @Override
+    public long maintenant() {
+        return temps;
+    }
+
+    public void regler(long temps) {
+        this.temps = temps;
+    }
+}
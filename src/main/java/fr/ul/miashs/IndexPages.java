@@ -0,0 +1,126 @@
+package fr.ul.miashs;
+
+import java.util.Arrays;
+
+// Index des pages résidentes : table de hachage à adressage ouvert (sondage linéaire)
+// qui associe une clé (processus, page) codée sur un long à la position du cadre qui la contient.
+// Les clés et les valeurs sont stockées dans des tableaux primitifs : aucune allocation par accès.
+class IndexPages {
+    private static final long VIDE = -1L; // Aucun processus n'a le numéro -1, la clé est donc libre
+    public static final int ABSENT = -1;
+
+    private long[] cles;
+    private int[] valeurs;
+    private int masque;
+    private int taille;
+    private int seuil;
+
+    public IndexPages(int capaciteAttendue) {
+        int capacite = Integer.highestOneBit(Math.max(4, capaciteAttendue * 2 - 1)) << 1;
+        allouer(capacite);
+    }
+
+    // Construire la clé d'une page à partir du numéro de processus et du numéro de page
+    public static long cle(int processus, int numeroPage) {
+        return ((long) processus << 32) | (numeroPage & 0xFFFFFFFFL);
+    }
+
+    public static int processus(long cle) {
+        return (int) (cle >>> 32);
+    }
+
+    public static int page(long cle) {
+        return (int) cle;
+    }
+
+    // Position associée à la clé, ou ABSENT si la page n'est pas en mémoire
+    public int get(long cle) {
+        int i = indice(cle);
+        while (true) {
+            long c = cles[i];
+            if (c == cle) return valeurs[i];
+            if (c == VIDE) return ABSENT;
+            i = (i + 1) & masque;
+        }
+    }
+
+    public void put(long cle, int valeur) {
+        int i = indice(cle);
+        while (true) {
+            long c = cles[i];
+            if (c == cle) {
+                valeurs[i] = valeur;
+                return;
+            }
+            if (c == VIDE) {
+                cles[i] = cle;
+                valeurs[i] = valeur;
+                if (++taille > seuil) agrandir();
+                return;
+            }
+            i = (i + 1) & masque;
+        }
+    }
+
+    // Retirer une clé ; les entrées suivantes du même groupe sont recompactées (pas de pierre tombale)
+    public void supprimer(long cle) {
+        int i = indice(cle);
+        while (true) {
+            long c = cles[i];
+            if (c == VIDE) return;
+            if (c == cle) break;
+            i = (i + 1) & masque;
+        }
+        int trou = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & masque;
+            long c = cles[j];
+            if (c == VIDE) break;
+            int ideal = indice(c);
+            // Déplacer l'entrée j dans le trou si sa position idéale ne se trouve pas entre le trou et j
+            if (((j - ideal) & masque) >= ((j - trou) & masque)) {
+                cles[trou] = c;
+                valeurs[trou] = valeurs[j];
+                trou = j;
+            }
+        }
+        cles[trou] = VIDE;
+        taille--;
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    private int indice(long cle) {
+        // Mélange des bits (finaliseur de MurmurHash3) pour répartir les clés voisines
+        long h = cle;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & masque;
+    }
+
+    private void allouer(int capacite) {
+        cles = new long[capacite];
+        valeurs = new int[capacite];
+        Arrays.fill(cles, VIDE);
+        masque = capacite - 1;
+        seuil = capacite / 2;
+        taille = 0;
+    }
+
+    private void agrandir() {
+        long[] anciennesCles = cles;
+        int[] anciennesValeurs = valeurs;
+        allouer(anciennesCles.length * 2);
+        for (int i = 0; i < anciennesCles.length; i++) {
+            if (anciennesCles[i] != VIDE) {
+                put(anciennesCles[i], anciennesValeurs[i]);
+            }
+        }
+    }
+}
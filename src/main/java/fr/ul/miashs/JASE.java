@@ -3,12 +3,13 @@ package fr.ul.miashs;
 public class JASE {
     public static void main (String[] args){
 
-        if (args.length < 2) {
-            System.err.println("Usage: java Ordonnanceur <fichier_config> <fichier_programmes>");
+        // Le fichier de programmes est facultatif avec programmes-source=generateur
+        if (args.length < 1) {
+            System.err.println("Usage: java Ordonnanceur <fichier_config> [<fichier_programmes>]");
             return;
         }
         String configPath = args[0];
-        String programsPath = args[1];
+        String programsPath = args.length > 1 ? args[1] : null;
 
         Ordonnanceur ordonnanceur = new Ordonnanceur();
         ordonnanceur.executerDepuisFichiers(configPath,programsPath);
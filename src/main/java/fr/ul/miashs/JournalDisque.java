@@ -0,0 +1,74 @@
+package fr.ul.miashs;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+// Journal des résultats du disque (disque-log, log_disque.txt par défaut), ajouté à la fin du fichier
+// à chaque exécution. Le fichier est ouvert une seule fois, à travers un tampon : la liste des requêtes
+// est écrite une fois, puis une ligne de résumé par algorithme. Avec disque-log-compression=true, le
+// journal est compressé en gzip (suffixe .gz) ; chaque exécution ajoute un membre gzip au fichier,
+// que gzip -d et GZIPInputStream relisent à la suite.
+class JournalDisque implements Closeable {
+    static final String SEPARATEUR = "--------------------------------\n";
+
+    private final Writer sortie;
+
+    JournalDisque(Path chemin, boolean compression) throws IOException {
+        OutputStream flux = Files.newOutputStream(chemin, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try {
+            if (compression) {
+                flux = new GZIPOutputStream(flux, 1 << 16);
+            }
+        } catch (IOException e) {
+            flux.close();
+            throw e;
+        }
+        sortie = new BufferedWriter(new OutputStreamWriter(flux, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    // Journal décrit par la configuration
+    static JournalDisque creer(Configuration configuration) throws IOException {
+        String fichier = configuration.disqueLog;
+        if (configuration.disqueLogCompression && !fichier.endsWith(".gz")) {
+            fichier += ".gz";
+        }
+        return new JournalDisque(Paths.get(fichier), configuration.disqueLogCompression);
+    }
+
+    // Requêtes dans l'ordre de soumission, écrites au fil de l'eau
+    void requetes(ListeEntiers requetes) throws IOException {
+        sortie.write("Requêtes traitées (");
+        sortie.write(Integer.toString(requetes.taille()));
+        sortie.write(") : [");
+        for (int i = 0; i < requetes.taille(); i++) {
+            if (i > 0) sortie.write(", ");
+            sortie.write(Integer.toString(requetes.get(i)));
+        }
+        sortie.write("]\n");
+        sortie.write(SEPARATEUR);
+    }
+
+    void resultat(ResultatDisque resultat) throws IOException {
+        sortie.write(resultat.algorithme + " - Déplacement total : " + resultat.deplacementTotal + " pistes\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Fermer même si la dernière écriture échoue : le flux gzip doit être terminé
+        try {
+            sortie.write(SEPARATEUR);
+        } finally {
+            sortie.close();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package fr.ul.miashs;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+import fr.ul.miashs.Ordonnanceur.TypeEvenement;
+
+// Lecture au fil de l'eau du fichier de programmes, un processus par ligne :
+//   ID/Temps-en-ms/Priorité/{EVENEMENT(valeur),...}
+// Les lignes vides et les commentaires (#) sont ignorés ; les espaces autour des éléments sont permis,
+// les accolades sont facultatives, ainsi que la valeur d'un événement (0 par défaut, ex. FIN).
+// L'analyse se fait caractère par caractère, en une passe, sur des tableaux réutilisés d'une ligne
+// à l'autre : seul l'identifiant du processus donne lieu à une chaîne. Toute ligne mal formée est
+// signalée avec sa ligne et sa colonne.
+// Les processus doivent apparaître par temps d'arrivée croissant (programmes-tries=true, par défaut) ;
+// un fichier non trié est signalé dès la première ligne fautive, sans lecture préalable du fichier.
+class LecteurProgrammes implements SourceProcessus {
+    // Temps d'arrivée renvoyé pour une ligne sans processus
+    static final int LIGNE_IGNOREE = Integer.MIN_VALUE;
+
+    private static final TypeEvenement[] TYPES = TypeEvenement.values();
+    private static final char[][] NOMS_TYPES = new char[TYPES.length][];
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            NOMS_TYPES[i] = TYPES[i].name().toCharArray();
+        }
+    }
+
+    private final Reader source;
+    private final char[] tampon = new char[1 << 16];
+    private int position;
+    private int limite;
+    private boolean finFichier;
+
+    private char[] ligne = new char[256]; // ligne courante, sans fin de ligne
+    private int longueur;
+    private int curseur;                  // position d'analyse dans la ligne
+    private int[] programme = new int[64]; // instructions codées du processus en cours d'analyse
+    private int nombreInstructions;
+    private int numeroLigne;
+    private int dernierArrivee = Integer.MIN_VALUE;
+
+    LecteurProgrammes(Reader source) {
+        this.source = source;
+    }
+
+    @Override
+    public Processus suivant() throws IOException {
+        while (lireLigne()) {
+            curseur = 0;
+            sauterEspaces();
+            if (curseur == longueur || ligne[curseur] == '#') continue;
+            Processus processus = analyserLigne();
+            if (processus.tempsArrivee < dernierArrivee) {
+                throw new IOException("ligne " + numeroLigne + " : les processus ne sont pas triés par temps d'arrivée"
+                        + " (programmes-tries=false pour les trier avant la simulation)");
+            }
+            dernierArrivee = processus.tempsArrivee;
+            return processus;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    // Copier la ligne suivante dans le tableau ligne (false en fin de fichier)
+    private boolean lireLigne() throws IOException {
+        longueur = 0;
+        boolean lu = false;
+        while (true) {
+            if (position == limite) {
+                if (finFichier || (limite = source.read(tampon, 0, tampon.length)) <= 0) {
+                    finFichier = true;
+                    limite = 0;
+                    position = 0;
+                    if (lu) numeroLigne++;
+                    return lu;
+                }
+                position = 0;
+            }
+            lu = true;
+            int debut = position;
+            while (position < limite && tampon[position] != '\n') {
+                position++;
+            }
+            ajouter(debut, position - debut);
+            if (position < limite) {
+                position++; // '\n'
+                if (longueur > 0 && ligne[longueur - 1] == '\r') longueur--;
+                numeroLigne++;
+                return true;
+            }
+        }
+    }
+
+    private void ajouter(int debut, int nombre) {
+        if (longueur + nombre > ligne.length) {
+            ligne = Arrays.copyOf(ligne, Math.max(longueur + nombre, 2 * ligne.length));
+        }
+        System.arraycopy(tampon, debut, ligne, longueur, nombre);
+        longueur += nombre;
+    }
+
+    // Analyse d'une ligne non vide : ID/Temps/Priorité/{EVENEMENT(valeur),...}
+    private Processus analyserLigne() throws IOException {
+        int debutId = curseur;
+        while (curseur < longueur && ligne[curseur] != '/') {
+            curseur++;
+        }
+        int finId = curseur;
+        while (finId > debutId && Character.isWhitespace(ligne[finId - 1])) {
+            finId--;
+        }
+        if (finId == debutId) throw erreur("identifiant de processus attendu");
+        attendre('/');
+        int tempsArrivee = lireEntier();
+        attendre('/');
+        int priorite = lireEntier();
+        attendre('/');
+
+        nombreInstructions = 0;
+        sauterEspaces();
+        boolean accolade = curseur < longueur && ligne[curseur] == '{';
+        if (accolade) curseur++;
+        sauterEspaces();
+        if (curseur < longueur && ligne[curseur] != '}') {
+            lireEvenement();
+            sauterEspaces();
+            while (curseur < longueur && ligne[curseur] == ',') {
+                curseur++;
+                lireEvenement();
+                sauterEspaces();
+            }
+        }
+        if (accolade) attendre('}');
+        sauterEspaces();
+        if (curseur < longueur) throw erreur("caractère inattendu '" + ligne[curseur] + "'");
+        return new Processus(new String(ligne, debutId, finId - debutId), tempsArrivee, priorite,
+                Arrays.copyOf(programme, nombreInstructions));
+    }
+
+    // CODE(valeur) ou CODE seul (valeur 0), ajouté codé au programme ;
+    // le code est reconnu sans tenir compte de la casse
+    private void lireEvenement() throws IOException {
+        sauterEspaces();
+        int debut = curseur;
+        while (curseur < longueur && Character.isLetter(ligne[curseur])) {
+            curseur++;
+        }
+        if (curseur == debut) throw erreur("événement attendu");
+        TypeEvenement type = null;
+        for (int t = 0; t < TYPES.length && type == null; t++) {
+            if (memeNom(NOMS_TYPES[t], debut, curseur - debut)) type = TYPES[t];
+        }
+        if (type == null) {
+            curseur = debut;
+            throw erreur("événement inconnu");
+        }
+        sauterEspaces();
+        int valeur = 0;
+        if (curseur < longueur && ligne[curseur] == '(') {
+            curseur++;
+            sauterEspaces();
+            int debutValeur = curseur;
+            valeur = lireEntier();
+            if (valeur < Processus.VALEUR_MIN || valeur > Processus.VALEUR_MAX) {
+                curseur = debutValeur;
+                throw erreur("valeur hors limites (" + Processus.VALEUR_MIN + " à " + Processus.VALEUR_MAX + ")");
+            }
+            attendre(')');
+        }
+        if (nombreInstructions == programme.length) {
+            programme = Arrays.copyOf(programme, 2 * programme.length);
+        }
+        programme[nombreInstructions++] = Processus.coder(type, valeur);
+    }
+
+    private boolean memeNom(char[] nom, int debut, int taille) {
+        if (nom.length != taille) return false;
+        for (int i = 0; i < taille; i++) {
+            if (Character.toUpperCase(ligne[debut + i]) != nom[i]) return false;
+        }
+        return true;
+    }
+
+    // Entier décimal signé, entouré d'espaces éventuels
+    private int lireEntier() throws IOException {
+        sauterEspaces();
+        boolean negatif = curseur < longueur && ligne[curseur] == '-';
+        if (negatif) curseur++;
+        int debut = curseur;
+        long valeur = 0;
+        while (curseur < longueur && ligne[curseur] >= '0' && ligne[curseur] <= '9') {
+            valeur = valeur * 10 + (ligne[curseur] - '0');
+            if (valeur > Integer.MAX_VALUE + 1L) {
+                curseur = debut;
+                throw erreur("nombre trop grand");
+            }
+            curseur++;
+        }
+        if (curseur == debut) throw erreur("nombre attendu");
+        valeur = negatif ? -valeur : valeur;
+        if (valeur > Integer.MAX_VALUE) {
+            curseur = debut;
+            throw erreur("nombre trop grand");
+        }
+        sauterEspaces();
+        return (int) valeur;
+    }
+
+    private void attendre(char attendu) throws IOException {
+        sauterEspaces();
+        if (curseur == longueur || ligne[curseur] != attendu) throw erreur("'" + attendu + "' attendu");
+        curseur++;
+    }
+
+    private void sauterEspaces() {
+        while (curseur < longueur && Character.isWhitespace(ligne[curseur])) {
+            curseur++;
+        }
+    }
+
+    private IOException erreur(String message) {
+        return new IOException("ligne " + numeroLigne + ", colonne " + (curseur + 1) + " : " + message);
+    }
+
+    // Temps d'arrivée du processus décrit par la ligne, sans analyser ses événements
+    // (LIGNE_IGNOREE pour une ligne vide ou un commentaire). Utilisé par le tri externe.
+    static int tempsArrivee(String ligne) {
+        ligne = ligne.trim();
+        if (ligne.isEmpty() || ligne.startsWith("#")) return LIGNE_IGNOREE;
+        int premier = ligne.indexOf('/');
+        int deuxieme = premier < 0 ? -1 : ligne.indexOf('/', premier + 1);
+        if (deuxieme < 0) throw new NumberFormatException("temps d'arrivée absent");
+        return Integer.parseInt(ligne.substring(premier + 1, deuxieme).trim());
+    }
+}
@@ -0,0 +1,168 @@
+package fr.ul.miashs;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static fr.ul.miashs.TraceBinaire.*;
+
+// Relecture d'une trace binaire (voir TraceBinaire) par projection en mémoire du fichier.
+// Un MappedByteBuffer ne dépassant pas 2 Go, les enregistrements sont projetés par segments ;
+// l'accès à l'enregistrement i ne lit que les octets concernés, sans rien copier.
+// Utilisable en ligne de commande pour convertir une trace binaire au format texte :
+//   java fr.ul.miashs.LecteurTraceBinaire <trace binaire> [<trace texte>]
+public class LecteurTraceBinaire implements AutoCloseable {
+    private static final int ENREGISTREMENTS_PAR_SEGMENT = 1 << 26;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer[] segments;
+    private final long nombreEnregistrements;
+    private final String[] noms;
+
+    public LecteurTraceBinaire(Path fichier) throws IOException {
+        this.canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+        lireTout(enTete, 0);
+        enTete.flip();
+        if (enTete.getInt() != SIGNATURE) {
+            throw new IOException("Le fichier n'est pas une trace binaire : " + fichier);
+        }
+        int version = enTete.getInt();
+        int tailleEnregistrement = enTete.getInt();
+        if (version != VERSION || tailleEnregistrement != TAILLE_ENREGISTREMENT) {
+            throw new IOException("Version de trace binaire non prise en charge : " + version);
+        }
+        this.nombreEnregistrements = enTete.getLong();
+        long positionNoms = enTete.getLong();
+
+        int nombreSegments = (int) ((nombreEnregistrements + ENREGISTREMENTS_PAR_SEGMENT - 1) / ENREGISTREMENTS_PAR_SEGMENT);
+        this.segments = new MappedByteBuffer[nombreSegments];
+        for (int s = 0; s < nombreSegments; s++) {
+            long premier = (long) s * ENREGISTREMENTS_PAR_SEGMENT;
+            long nombre = Math.min(ENREGISTREMENTS_PAR_SEGMENT, nombreEnregistrements - premier);
+            segments[s] = canal.map(FileChannel.MapMode.READ_ONLY,
+                    TAILLE_EN_TETE + premier * TAILLE_ENREGISTREMENT, nombre * TAILLE_ENREGISTREMENT);
+            segments[s].order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        ByteBuffer table = ByteBuffer.allocate((int) (canal.size() - positionNoms)).order(ByteOrder.LITTLE_ENDIAN);
+        lireTout(table, positionNoms);
+        table.flip();
+        this.noms = new String[table.getInt()];
+        for (int i = 0; i < noms.length; i++) {
+            byte[] octets = new byte[table.getShort()];
+            table.get(octets);
+            noms[i] = new String(octets, StandardCharsets.UTF_8);
+        }
+    }
+
+    public long nombreEnregistrements() {
+        return nombreEnregistrements;
+    }
+
+    public int temps(long i) {
+        return segment(i).getInt(position(i) + TEMPS);
+    }
+
+    public int duree(long i) {
+        return segment(i).getInt(position(i) + DUREE);
+    }
+
+    public int processus(long i) {
+        return segment(i).getInt(position(i) + PROCESSUS);
+    }
+
+    // Page (défaut de page) ou piste (écriture disque) de l'enregistrement, -1 sinon
+    public int valeur(long i) {
+        return segment(i).getInt(position(i) + VALEUR);
+    }
+
+    public byte nature(long i) {
+        return segment(i).get(position(i) + NATURE);
+    }
+
+    public int processeur(long i) {
+        return segment(i).getShort(position(i) + PROCESSEUR);
+    }
+
+    // Identifiant du processus de numéro donné
+    public String nom(int processus) {
+        return processus >= 0 && processus < noms.length ? noms[processus] : null;
+    }
+
+    // Rejouer les enregistrements dans une autre sortie de trace (par exemple Texte)
+    public void rejouer(SortieTrace sortie) {
+        for (long i = 0; i < nombreEnregistrements; i++) {
+            int processeur = processeur(i);
+            int temps = temps(i);
+            int numero = processus(i);
+            switch (nature(i)) {
+                case EXECUTION:
+                    sortie.execution(processeur, temps, temps + duree(i), numero, nom(numero));
+                    break;
+                case INACTIVITE:
+                    sortie.inactivite(processeur, temps, temps + duree(i));
+                    break;
+                case DEFAUT_LECTURE:
+                case DEFAUT_ECRITURE:
+                    sortie.defautPage(processeur, temps, valeur(i), nature(i) == DEFAUT_ECRITURE, numero, nom(numero));
+                    break;
+                case ECRITURE_DISQUE:
+                    sortie.ecritureDisque(processeur, temps, valeur(i), duree(i), numero, nom(numero));
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private MappedByteBuffer segment(long i) {
+        return segments[(int) (i / ENREGISTREMENTS_PAR_SEGMENT)];
+    }
+
+    private static int position(long i) {
+        return (int) (i % ENREGISTREMENTS_PAR_SEGMENT) * TAILLE_ENREGISTREMENT;
+    }
+
+    private void lireTout(ByteBuffer destination, long position) throws IOException {
+        while (destination.hasRemaining()) {
+            int lus = canal.read(destination, position);
+            if (lus < 0) {
+                throw new IOException("Trace binaire tronquée");
+            }
+            position += lus;
+        }
+    }
+
+    // Conversion d'une trace binaire au format texte (sur la sortie standard par défaut)
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java fr.ul.miashs.LecteurTraceBinaire <trace binaire> [<trace texte>]");
+            return;
+        }
+        try (LecteurTraceBinaire lecteur = new LecteurTraceBinaire(Paths.get(args[0]))) {
+            Writer sortie = args.length > 1
+                    ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
+            try (SortieTrace texte = new SortieTrace.Texte(sortie, args.length > 1)) {
+                lecteur.rejouer(texte);
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture de la trace binaire : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fr.ul.miashs;
+
+import java.util.Arrays;
+
+// Liste d'int extensible, stockée dans un tableau primitif : 4 octets par élément et aucun
+// objet Integer alloué à l'ajout (pistes des requêtes disque, voir ResultatSimulation).
+public final class ListeEntiers {
+    private int[] valeurs;
+    private int taille;
+
+    public ListeEntiers() {
+        this(16);
+    }
+
+    public ListeEntiers(int capaciteInitiale) {
+        valeurs = new int[Math.max(1, capaciteInitiale)];
+    }
+
+    public static ListeEntiers de(int... valeurs) {
+        ListeEntiers liste = new ListeEntiers(valeurs.length);
+        System.arraycopy(valeurs, 0, liste.valeurs, 0, valeurs.length);
+        liste.taille = valeurs.length;
+        return liste;
+    }
+
+    public void ajouter(int valeur) {
+        if (taille == valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, Math.max(16, taille + (taille >> 1)));
+        }
+        valeurs[taille++] = valeur;
+    }
+
+    public int get(int indice) {
+        if (indice < 0 || indice >= taille) {
+            throw new IndexOutOfBoundsException("Indice " + indice + " hors de la liste (taille " + taille + ")");
+        }
+        return valeurs[indice];
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    // Copie des éléments, dans l'ordre
+    public int[] versTableau() {
+        return Arrays.copyOf(valeurs, taille);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texte = new StringBuilder("[");
+        for (int i = 0; i < taille; i++) {
+            if (i > 0) texte.append(", ");
+            texte.append(valeurs[i]);
+        }
+        return texte.append(']').toString();
+    }
+}
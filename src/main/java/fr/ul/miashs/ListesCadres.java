@@ -0,0 +1,86 @@
+package fr.ul.miashs;
+
+import java.util.Arrays;
+
+// Listes doublement chaînées intrusives sur des éléments numérotés de 0 à n-1 (en général des cadres).
+// Chaque élément appartient à au plus une liste ; les liens sont rangés dans des tableaux d'entiers,
+// ce qui permet de retirer, d'insérer ou de déplacer un élément en O(1) sans aucune allocation.
+// La tête d'une liste est son élément le plus ancien, la queue le plus récent.
+class ListesCadres {
+    public static final int AUCUN = -1;
+
+    private final int[] precedent;
+    private final int[] suivant;
+    private final int[] liste;  // Élément -> liste qui le contient (AUCUN si libre)
+    private final int[] tete;
+    private final int[] queue;
+    private final int[] taille;
+
+    public ListesCadres(int nombreElements, int nombreListes) {
+        this.precedent = new int[nombreElements];
+        this.suivant = new int[nombreElements];
+        this.liste = new int[nombreElements];
+        this.tete = new int[nombreListes];
+        this.queue = new int[nombreListes];
+        this.taille = new int[nombreListes];
+        Arrays.fill(liste, AUCUN);
+        Arrays.fill(tete, AUCUN);
+        Arrays.fill(queue, AUCUN);
+    }
+
+    public void ajouterEnQueue(int l, int element) {
+        inserer(l, element, queue[l], AUCUN);
+    }
+
+    public void ajouterEnTete(int l, int element) {
+        inserer(l, element, AUCUN, tete[l]);
+    }
+
+    // Insérer l'élément juste après la référence, qui doit appartenir à la liste l
+    public void insererApres(int l, int reference, int element) {
+        inserer(l, element, reference, suivant[reference]);
+    }
+
+    // Déplacer l'élément en queue de la liste l (il devient le plus récent)
+    public void deplacerEnQueue(int l, int element) {
+        if (liste[element] != AUCUN) {
+            retirer(element);
+        }
+        ajouterEnQueue(l, element);
+    }
+
+    public void retirer(int element) {
+        int l = liste[element];
+        int p = precedent[element];
+        int s = suivant[element];
+        if (p == AUCUN) tete[l] = s; else suivant[p] = s;
+        if (s == AUCUN) queue[l] = p; else precedent[s] = p;
+        liste[element] = AUCUN;
+        taille[l]--;
+    }
+
+    public int tete(int l) {
+        return tete[l];
+    }
+
+    public int suivant(int element) {
+        return suivant[element];
+    }
+
+    public int liste(int element) {
+        return liste[element];
+    }
+
+    public int taille(int l) {
+        return taille[l];
+    }
+
+    private void inserer(int l, int element, int p, int s) {
+        precedent[element] = p;
+        suivant[element] = s;
+        if (p == AUCUN) tete[l] = element; else suivant[p] = element;
+        if (s == AUCUN) queue[l] = element; else precedent[s] = element;
+        liste[element] = l;
+        taille[l]++;
+    }
+}
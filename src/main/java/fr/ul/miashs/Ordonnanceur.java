@@ -1,411 +1,564 @@
 package fr.ul.miashs;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.PriorityQueue;
 public class Ordonnanceur {
-    // Ajout de l'attribut pour la gestion mémoire
-    private static GestionMemoire gestionMemoire;
-    private List<Integer> pistesDisque = new ArrayList<>();
+    // Gestion mémoire de la simulation en cours (propre à cet ordonnanceur)
+    private GestionMemoire gestionMemoire;
+    // Horloge de la simulation, partagée avec les gestionnaires
+    private final HorlogeSimulee horloge = new HorlogeSimulee();
 
+    // État de la simulation à événements discrets : le temps saute directement d'un événement au suivant
+    private Configuration configuration;
+    private final PriorityQueue<EvenementSimulation> evenements = new PriorityQueue<>();
+    private long numeroSequence;                 // départage les événements de même instant et de même nature
+    private SourceProcessus source;              // processus à venir, par ordre d'arrivée
+    private int nombreArrivees;                  // processus lus jusqu'ici (rang du suivant dans les traces)
+    private Processeur[] processeurs;            // processeurs (cœurs) simulés, chacun avec sa file des prêts
+    private int tempsCourant;                    // temps simulé actuel en millisecondes
+    private boolean commutation;                 // fin de quantum : élection sans attendre le tick
+    private SortieTrace trace;                   // destination des segments d'exécution et défauts de page
+    private ResultatSimulation resultat;         // mesures de la simulation en cours
+    private PeripheriqueDisque disque;           // disque en ligne (disque-en-ligne=true), null sinon
 
-    public void executerDepuisFichiers(String configPath, String programsPath) {
-        // Paramètres de configuration
-        int tempsSimulation = 0;
-        int interruptionHorloge = 0;
-        String strategieOrdonnancement = "";
-        int quantum = 0;
-        int tempsEcritureDisque = 0;
-        int tempsChargePage = 0;
-        String politiqueAllocation = "locale";
-        int nombreCadresLocal = 4;
-        int nombreCadresTotal = 8;
-        String algorithmePagement = "FIFO";
-        String directionInitiale = "droite";
-        int positionInitiale = 0;
-        String disqueOrdonnancement="";
 
+    public void executerDepuisFichiers(String configPath, String programsPath) {
         // Lecture du fichier de configuration
-        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(configPath))) {
-            String ligne;
-            while ((ligne = br.readLine()) != null) {
-                ligne = ligne.trim();
-                if (ligne.isEmpty() || ligne.startsWith("#")) continue;
-
-                String[] parts = ligne.split("=");
-                if (parts.length != 2) continue;
+        try {
+            configuration = Configuration.lire(configPath);
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la lecture du fichier de configuration : " + e.getMessage());
+            return;
+        }
+        if (!initialiser()) return;
 
-                String cle = parts[0].trim();
-                String valeur = parts[1].trim();
+        // Fichier de programmes (processus à simuler), trié au besoin dans un fichier temporaire
+        Path fichier = null;
+        Path fichierTrie = null;
+        if (!configuration.sourceProgrammes.equalsIgnoreCase("generateur")) {
+            if (programsPath == null) {
+                System.err.println("Aucun fichier de programmes (programmes-source=fichier)");
+                return;
+            }
+            fichier = Paths.get(programsPath);
+            try {
+                if (!configuration.programmesTries) {
+                    // Fichier déclaré non trié : tri externe dans un fichier temporaire, sans relecture
+                    // préalable (un fichier trié n'est lu qu'une fois, par la simulation)
+                    fichierTrie = TriProgrammes.trier(fichier, configuration.tailleBlocTri);
+                    fichier = fichierTrie;
+                }
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la lecture du fichier de programmes : " + e.getMessage());
+                return;
+            }
+        }
 
-                switch (cle) {
-                    case "temps-simulation":
-                        tempsSimulation = Integer.parseInt(valeur);
-                        break;
-                    case "interruption-horloge":
-                        interruptionHorloge = Integer.parseInt(valeur);
-                        break;
-                    case "processus-ordonnancement":
-                        strategieOrdonnancement = valeur;
-                        break;
-                    case "processus-quantum":
-                        quantum = Integer.parseInt(valeur);
-                        break;
-                    case "temps-écriture-disque":
-                        tempsEcritureDisque = Integer.parseInt(valeur);
-                        break;
-                    case "temps-charge-page":
-                        tempsChargePage = Integer.parseInt(valeur);
-                        break;
-                    case "pagination-politique-allocation":
-                        politiqueAllocation = valeur;
-                        break;
-                    case "pagination-nombre-cadres-locale":
-                        nombreCadresLocal = Integer.parseInt(valeur);
-                        break;
-                    case "pagination-nombre-cadres":
-                        nombreCadresTotal = Integer.parseInt(valeur);
-                        break;
-                    case "pagination-algorithme":
-                        algorithmePagement = valeur;
-                        break;
-                    case "disque-position-initiale":
-                        positionInitiale = Integer.parseInt(valeur);
-                        break;
-                    case "disque-direction-initiale":
-                        directionInitiale = valeur;
-                        break;
-                    case "disque-ordonnancement":
-                        disqueOrdonnancement = valeur;
-                        break;
+        // La source et la trace sont fermées quoi qu'il arrive, y compris si l'ouverture de la trace échoue
+        try (SourceProcessus s = ouvrirSource(fichier); SortieTrace t = SortieTrace.creer(configuration)) {
+            source = s;
+            trace = t;
+            simuler();
+        } catch (IOException e) {
+            System.err.println("Erreur d'entrée-sortie (programmes ou trace) : " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            // Paramètres du générateur, sortie de trace inconnue ou programme invalide
+            System.err.println("Erreur pendant la simulation : " + e.getMessage());
+            return;
+        } finally {
+            if (fichierTrie != null) {
+                try {
+                    Files.deleteIfExists(fichierTrie);
+                } catch (IOException e) {
+                    // fichier temporaire : tant pis
                 }
             }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la lecture du fichier de configuration : " + e.getMessage());
+        }
+
+        // Fin de la simulation : affichage du rapport final
+        System.out.println("Nombre de processus terminés = " + resultat.nombreTermines);
+        if (resultat.nombreTermines > 0) {
+            System.out.printf("Délai de rotation moyen = %.2f ms\n", resultat.delaiRotationMoyen());
+            System.out.printf("Réactivité moyenne = %.2f ms\n", resultat.reactiviteMoyenne());
+        } else {
+            System.out.println("Délai de rotation moyen = 0 ms");
+            System.out.println("Réactivité moyenne = 0 ms");
+        }
+        for (Processeur processeur : processeurs) {
+            double utilisation = configuration.tempsSimulation > 0
+                    ? 100.0 * processeur.tempsOccupe / configuration.tempsSimulation : 0;
+            System.out.printf("Utilisation du processeur %d = %.2f %%\n", processeur.numero, utilisation);
+        }
+        if (processeurs.length > 1) {
+            System.out.println("Nombre de vols de travail = " + resultat.nombreVols);
+        }
+
+        // À la fin de la simulation, afficher les statistiques de la mémoire
+        System.out.println("\nStatistiques de la gestion mémoire :");
+        System.out.println(gestionMemoire.getTraceMemoire());
+        if (resultat.references != null) {
+            // Courbes de défauts de page pour toutes les tailles de mémoire, sur les références de la simulation
+            System.out.println(resultat.references.tableau(configuration.politiqueAllocation.equalsIgnoreCase("locale"),
+                    configuration.cadresAnalyse, Arrays.asList(configuration.algorithmesAnalyse.split("\\s*,\\s*")),
+                    configuration.fenetreTravail));
+        }
+
+        if (disque != null) {
+            // Disque simulé pendant l'exécution : file d'attente et latences des écritures
+            System.out.print(disque.rapport(configuration.tempsSimulation));
+        }
+
+        // Algorithme du disque configuré, vérifié avant tout calcul
+        String algorithmeDisque = GestionDisque.nomAlgorithme(configuration.disqueOrdonnancement);
+        if (algorithmeDisque == null) {
+            System.err.println("Algorithme disque inconnu : " + configuration.disqueOrdonnancement);
             return;
         }
+        GestionDisque disque;
+        try {
+            disque = GestionDisque.creer(resultat.pistesDisque, configuration);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        // Chaque algorithme est calculé une seule fois ; affichage et journal reprennent ses résultats
+        ResultatDisque[] resultatsDisque = new ResultatDisque[GestionDisque.ALGORITHMES.length];
+        for (int i = 0; i < resultatsDisque.length; i++) {
+            resultatsDisque[i] = disque.executer(GestionDisque.ALGORITHMES[i]);
+        }
+        for (ResultatDisque r : resultatsDisque) {
+            if (r.algorithme.equals("SCAN") || r.algorithme.equals("CSCAN")) {
+                System.out.println(r.algorithme + " Séquence : " + Arrays.toString(r.sequence));
+            }
+            System.out.println(r.algorithme + " Déplacement total : " + r.deplacementTotal);
+        }
+        for (ResultatDisque r : resultatsDisque) {
+            if (r.algorithme.equals(algorithmeDisque)) {
+                System.out.println("Algorithme du disque retenu : " + r.algorithme
+                        + " (déplacement total : " + r.deplacementTotal + ")");
+            }
+        }
+
+        // Journal des résultats : la liste des requêtes une fois, puis un résumé par algorithme
+        try (JournalDisque journal = JournalDisque.creer(configuration)) {
+            journal.requetes(resultat.pistesDisque);
+            for (ResultatDisque r : resultatsDisque) {
+                journal.resultat(r);
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture du fichier log : " + e.getMessage());
+        }
+
+
+
+    }
+
+    // Simulation seule, sans rapport ni disque (bancs d'essai, balayage de paramètres)
+    ResultatSimulation simuler(Configuration configuration, SourceProcessus source, SortieTrace trace) throws IOException {
+        this.configuration = configuration;
+        if (!initialiser()) throw new IllegalArgumentException("Configuration invalide");
+        this.source = source;
+        this.trace = trace;
+        simuler();
+        return resultat;
+    }
+
+    // Gestion mémoire et processeurs selon la configuration (false, après un message, si elle est invalide)
+    private boolean initialiser() {
+        resultat = new ResultatSimulation();
+        nombreArrivees = 0;
         gestionMemoire = new GestionMemoire(
-                nombreCadresTotal,
-                nombreCadresLocal,
-                politiqueAllocation.equalsIgnoreCase("locale"),
-                algorithmePagement,
-                tempsChargePage
+                configuration.nombreCadresTotal,
+                configuration.nombreCadresLocal,
+                configuration.politiqueAllocation.equalsIgnoreCase("locale"),
+                configuration.algorithmePagement,
+                configuration.tempsChargePage,
+                horloge,
+                configuration.tableCadresDirecte
         );
-        // Vérification de la politique d'ordonnancement (FIFO attendu)
-        if (!strategieOrdonnancement.equalsIgnoreCase("FIFO")) {
-            System.out.println("Stratégie d'ordonnancement non prise en charge : " + strategieOrdonnancement);
-            System.out.println("Veuillez utiliser FIFO dans le fichier de configuration pour la Partie I.");
-            return;
+        gestionMemoire.definirFenetreTravail(configuration.fenetreTravail);
+        resultat.memoire = gestionMemoire;
+        if (configuration.analysePages) {
+            resultat.references = new AnalyseurPiles();
+            gestionMemoire.enregistrerReferences(resultat.references);
+        }
+        disque = null;
+        if (configuration.disqueEnLigne) {
+            try {
+                disque = PeripheriqueDisque.creer(configuration);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                return false;
+            }
+            resultat.disque = disque;
+        }
+        // Choix de la politique d'ordonnancement : une file des prêts par processeur
+        if (configuration.nombreProcesseurs < 1) {
+            System.out.println("Le nombre de processeurs doit être au moins 1 : " + configuration.nombreProcesseurs);
+            return false;
+        }
+        processeurs = new Processeur[configuration.nombreProcesseurs];
+        for (int i = 0; i < processeurs.length; i++) {
+            PolitiqueOrdonnancement politique;
+            try {
+                politique = PolitiqueOrdonnancement.creer(configuration);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                return false;
+            }
+            if (politique == null) {
+                System.out.println("Stratégie d'ordonnancement non prise en charge : " + configuration.strategieOrdonnancement);
+                System.out.println("Stratégies disponibles : FIFO, RR, SJF, SRTF, PRIORITE.");
+                return false;
+            }
+            processeurs[i] = new Processeur(i, politique);
         }
+        return true;
+    }
 
+    // Boucle principale : traiter les événements par ordre chronologique jusqu'à temps-simulation.
+    // Tous les événements d'un même instant sont traités avant l'élection des processus.
+    private void simuler() throws IOException {
+        int tempsSimulation = configuration.tempsSimulation;
+        planifierArrivee();
+        if (configuration.interruptionHorloge > 0) {
+            planifier(configuration.interruptionHorloge, NatureEvenement.INTERRUPTION_HORLOGE, null);
+        }
 
-        // Lecture du fichier de programmes (processus à simuler)
-        java.util.List<Processus> listeProcessus = new java.util.ArrayList<>();
-        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(programsPath))) {
-            String ligne;
-            while ((ligne = br.readLine()) != null) {
-                ligne = ligne.trim();
-                if (ligne.isEmpty() || ligne.startsWith("#")) continue;
-                // Format attendu : ID/Temps-en-ms/Priorité/{EVENEMENT(valeur),...}
-                String[] parts = ligne.split("/", 4);
-                if (parts.length < 4) continue; // format incorrect
-                String id = parts[0].trim();
-                int tempsArrivee = Integer.parseInt(parts[1].trim());
-                int priorite = Integer.parseInt(parts[2].trim());
-                String sequenceEvenements = parts[3].trim();
-                // Retirer les accolades englobantes
-                if (sequenceEvenements.startsWith("{")) {
-                    sequenceEvenements = sequenceEvenements.substring(1);
-                }
-                if (sequenceEvenements.endsWith("}")) {
-                    sequenceEvenements = sequenceEvenements.substring(0, sequenceEvenements.length() - 1);
-                }
-                String[] evtParts = sequenceEvenements.split(",");
-                java.util.List<Evenement> evenements = new java.util.ArrayList<>();
-                for (String evtStr : evtParts) {
-                    evtStr = evtStr.trim();
-                    if (evtStr.isEmpty()) continue;
-                    // evtStr est de la forme CODE(valeur)
-                    int parOuv = evtStr.indexOf('(');
-                    int parFer = evtStr.lastIndexOf(')');
-                    String code = (parOuv >= 0 ? evtStr.substring(0, parOuv) : evtStr);
-                    String argStr = (parOuv >= 0 && parFer >= 0 ? evtStr.substring(parOuv + 1, parFer) : "");
-                    int arg = 0;
-                    try {
-                        arg = Integer.parseInt(argStr.trim());
-                    } catch (NumberFormatException ex) {
-                        arg = 0;
-                    }
-                    TypeEvenement type;
-                    try {
-                        type = TypeEvenement.valueOf(code.toUpperCase());
-                    } catch (IllegalArgumentException ex) {
-                        // on s'en fiche des événement inconnu
-                        continue;
-                    }
-                    evenements.add(new Evenement(type, arg));
+        while (!evenements.isEmpty() && evenements.peek().temps < tempsSimulation) {
+            tempsCourant = evenements.peek().temps;
+            horloge.regler(tempsCourant);
+            while (!evenements.isEmpty() && evenements.peek().temps == tempsCourant) {
+                traiter(evenements.poll());
+                resultat.nombreEvenements++;
+            }
+            elire();
+        }
+
+        // Fin de simulation : clore sur chaque processeur le calcul interrompu ou l'inactivité en cours
+        tempsCourant = tempsSimulation;
+        horloge.regler(tempsCourant);
+        for (Processeur processeur : processeurs) {
+            Processus enCours = processeur.enCours;
+            if (enCours != null) {
+                if (enCours.finTranche != null) {
+                    processeur.tempsOccupe += tempsSimulation - enCours.debutTranche;
+                    trace.execution(numeroTrace(processeur), processeur.debutSegment, tempsSimulation, enCours.rang, enCours.id);
                 }
-                listeProcessus.add(new Processus(id, tempsArrivee, priorite, evenements));
+            } else if (processeur.debutInactivite < tempsSimulation) {
+                trace.inactivite(numeroTrace(processeur), processeur.debutInactivite, tempsSimulation);
             }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la lecture du fichier de programmes : " + e.getMessage());
-            return;
         }
+        resultat.tempsOccupe = new long[processeurs.length];
+        for (Processeur processeur : processeurs) {
+            resultat.tempsOccupe[processeur.numero] = processeur.tempsOccupe;
+        }
+    }
 
-        // on trie les processus par ordre d'arrivée croissant (FIFO se base sur l'arrivée)
-        listeProcessus.sort(java.util.Comparator.comparingInt(p -> p.tempsArrivee));
+    private EvenementSimulation planifier(int temps, NatureEvenement nature, Processus processus) {
+        EvenementSimulation evenement = new EvenementSimulation(temps, nature, processus, numeroSequence++);
+        evenements.add(evenement);
+        return evenement;
+    }
 
-        // File d'attente des processus prêts (ordonnancement FIFO)
-        java.util.LinkedList<Processus> filePrets = new java.util.LinkedList<>();
-        // Liste des processus bloqués (triée par l'instant de fin de blocage le plus proche)
-        java.util.PriorityQueue<Processus> fileBloques = new java.util.PriorityQueue<>(java.util.Comparator.comparingInt(p -> p.finBlocage));
-        int indexArrivee = 0;             // index du prochain processus à arriver
-        int tempsCourant = 0;            // temps simulé actuel en millisecondes
-        Processus processusEnCours = null; // processus actuellement exécuté sur le CPU
-        int nbTermines = 0;
-        long sommeDureesRotation = 0;
-        long sommeTempsReponse = 0;
+    // Source des processus : charge synthétique produite au fur et à mesure sans passer par le disque,
+    // ou fichier de programmes lu au fil de la simulation
+    private SourceProcessus ouvrirSource(Path fichier) throws IOException {
+        if (fichier == null) {
+            return new GenerateurCharge(configuration.generateur);
+        }
+        return new LecteurProgrammes(Files.newBufferedReader(fichier, StandardCharsets.UTF_8));
+    }
 
-        // Ajouter les processus arrivant à t=0 à la file des prêts
-        while (indexArrivee < listeProcessus.size() && listeProcessus.get(indexArrivee).tempsArrivee == 0) {
-            filePrets.add(listeProcessus.get(indexArrivee));
-            indexArrivee++;
+    // Lire le prochain processus et planifier son arrivée. Une seule arrivée est planifiée à la fois :
+    // la suivante est lue lorsque celle-ci est traitée.
+    private void planifierArrivee() throws IOException {
+        Processus processus = source.suivant();
+        if (processus == null) return;
+        // Identifiant converti une fois pour toutes en numéro dense pour la gestion mémoire ; ce numéro
+        // est réutilisé après la fin du processus, les traces utilisent donc le rang d'arrivée
+        processus.numero = gestionMemoire.enregistrerProcessus(processus.id);
+        processus.rang = nombreArrivees++;
+        // L'algorithme OPTIMAL a besoin de connaître à l'avance les pages référencées par le processus
+        if (configuration.algorithmePagement.equalsIgnoreCase("OPTIMAL")) {
+            gestionMemoire.definirReferences(processus.numero, processus.referencesPages());
         }
+        planifier(processus.tempsArrivee, NatureEvenement.ARRIVEE, processus);
+    }
 
-        // Début de la simulation
-        while (tempsCourant < tempsSimulation) {
-            // Mettre à jour la file de prêts avec les nouvelles arrivées jusqu'à tempsCourant
-            while (indexArrivee < listeProcessus.size() && listeProcessus.get(indexArrivee).tempsArrivee <= tempsCourant) {
-                filePrets.add(listeProcessus.get(indexArrivee));
-                indexArrivee++;
+    private void traiter(EvenementSimulation evenement) throws IOException {
+        Processus processus = evenement.processus;
+        switch (evenement.nature) {
+            case FIN_CALCUL: {
+                // Fin du calcul CPU : le processus garde le CPU et poursuit son programme
+                if (evenement != processus.finTranche) break; // calcul interrompu par une préemption
+                Processeur processeur = processeurs[processus.processeur];
+                finTranche(processeur, processus);
+                trace.execution(numeroTrace(processeur), processeur.debutSegment, tempsCourant, processus.rang, processus.id);
+                processus.avancerEvenement();
+                executer(processeur);
+                break;
             }
-            // Mettre à jour la file de prêts avec les processus dont le blocage est terminé à tempsCourant
-            while (!fileBloques.isEmpty() && fileBloques.peek().finBlocage <= tempsCourant) {
-                filePrets.add(fileBloques.poll());
+            case FIN_QUANTUM: {
+                if (evenement != processus.finTranche) break;
+                Processeur processeur = processeurs[processus.processeur];
+                finTranche(processeur, processus);
+                if (processeur.filePrets.estVide()) {
+                    // Personne n'attend sur ce processeur : le processus enchaîne une nouvelle tranche
+                    planifierTranche(processeur, processus);
+                } else {
+                    trace.execution(numeroTrace(processeur), processeur.debutSegment, tempsCourant, processus.rang, processus.id);
+                    processeur.filePrets.ajouter(processus, tempsCourant);
+                    libererProcesseur(processeur);
+                    commutation = true;
+                }
+                break;
             }
+            case ARRIVEE:
+                rendrePret(processus);
+                planifierArrivee();
+                break;
+            case FIN_CHARGEMENT_PAGE:
+                // La page est chargée : l'accès sera rejoué sans nouveau défaut
+                processus.pageChargee = true;
+                rendrePret(processus);
+                break;
+            case FIN_BLOCAGE:
+                rendrePret(processus);
+                break;
+            case FIN_DISQUE:
+                if (disque != null) {
+                    // Requête servie : le disque passe à la suivante
+                    disque.terminer(tempsCourant);
+                    demarrerDisque();
+                }
+                rendrePret(processus);
+                break;
+            case INTERRUPTION_HORLOGE:
+                gestionMemoire.interruptionHorloge();
+                // L'horloge ne continue que tant qu'il reste quelque chose à simuler
+                int prochaine = tempsCourant + configuration.interruptionHorloge;
+                boolean activite = !evenements.isEmpty();
+                for (Processeur processeur : processeurs) {
+                    activite |= processeur.enCours != null || !processeur.filePrets.estVide();
+                }
+                if (activite && prochaine < configuration.tempsSimulation) {
+                    planifier(prochaine, NatureEvenement.INTERRUPTION_HORLOGE, null);
+                }
+                break;
+        }
+    }
 
-            if (processusEnCours == null) {
-                // CPU est inactif
-                if (!filePrets.isEmpty()) {
-                    // Un processus est prêt à être exécuté
-                    Processus prochain = filePrets.poll();
-                    // Si on n'est pas aligné sur un tick d'horloge, attendre le prochain multiple d'interruptionHorloge
-                    if (interruptionHorloge > 0 && (tempsCourant % interruptionHorloge != 0)) {
-                        int prochainTick = ((tempsCourant / interruptionHorloge) + 1) * interruptionHorloge;
-                        if (prochainTick > tempsSimulation) {
-                            prochainTick = tempsSimulation;
-                        }
-                        if (prochainTick > tempsCourant) {
-                            System.out.println(tempsCourant + " - " + prochainTick + " : Inactivité");
-                            tempsCourant = prochainTick;
-                        }
-                    }
-                    if (tempsCourant >= tempsSimulation) break;
-                    // Démarrer l'exécution du processus sélectionné
-                    processusEnCours = prochain;
-                    if (processusEnCours.debutExecution < 0) {
-                        processusEnCours.debutExecution = tempsCourant;
-                    }
-                    // Noter le début de période de traitement pour la trace
-                    int debutSegment = tempsCourant;
-                    // Exécuter le processus courant (on traitera son événement dans le bloc suivant)
-                    continue;
-                } else {
-                    // Aucun processus prêt -> rester en inactivité jusqu'au prochain événement (arrivée ou fin de blocage)
-                    int prochainEvt = tempsSimulation;
-                    if (indexArrivee < listeProcessus.size()) {
-                        prochainEvt = Math.min(prochainEvt, listeProcessus.get(indexArrivee).tempsArrivee);
-                    }
-                    if (!fileBloques.isEmpty()) {
-                        prochainEvt = Math.min(prochainEvt, fileBloques.peek().finBlocage);
-                    }
-                    if (prochainEvt > tempsCourant) {
-                        if (prochainEvt > tempsSimulation) prochainEvt = tempsSimulation;
-                        System.out.println(tempsCourant + " - " + prochainEvt + " : Inactivité");
-                        tempsCourant = prochainEvt;
-                    } else {
-                        // prochainEvt == tempsCourant (un événement se produit maintenant, déjà géré ci-dessus)
-                        tempsCourant++;
-                    }
-                    continue;
+    // Placer un processus devenu prêt : sur son dernier processeur si l'affinité est demandée,
+    // sinon sur le processeur le moins chargé (processus en cours compris)
+    private void rendrePret(Processus processus) {
+        Processeur cible;
+        if (configuration.affinite && processus.processeur >= 0) {
+            cible = processeurs[processus.processeur];
+        } else {
+            cible = processeurs[0];
+            for (int i = 1; i < processeurs.length && cible.charge() > 0; i++) {
+                if (processeurs[i].charge() < cible.charge()) {
+                    cible = processeurs[i];
                 }
             }
+        }
+        cible.filePrets.ajouter(processus, tempsCourant);
+    }
 
-            // Un processus est en cours d'exécution sur le CPU
-            Evenement evt = processusEnCours.prochainEvenement();
-            if (evt == null) {
+    // Élire les processus prêts sur chaque processeur libre, après avoir préempté si besoin le processus
+    // en cours. L'ordonnanceur n'intervient que sur un tick d'horloge (ou à la fin d'un quantum) :
+    // sinon l'interruption suivante, toujours planifiée tant que des processus sont prêts, s'en chargera.
+    private void elire() {
+        int interruptionHorloge = configuration.interruptionHorloge;
+        if (interruptionHorloge > 0 && tempsCourant % interruptionHorloge != 0 && !commutation) {
+            return;
+        }
+        commutation = false;
+        for (Processeur processeur : processeurs) {
+            if (processeur.enCours != null && processeur.filePrets.doitPreempter(processeur.enCours, tempsCourant)) {
+                preempter(processeur);
+            }
+            while (processeur.enCours == null) {
+                Processus elu = processeur.filePrets.retirer();
+                if (elu == null && configuration.volTravail) {
+                    elu = voler(processeur);
+                }
+                if (elu == null) {
+                    break;
+                }
+                if (tempsCourant > processeur.debutInactivite) {
+                    trace.inactivite(numeroTrace(processeur), processeur.debutInactivite, tempsCourant);
+                }
+                processeur.enCours = elu;
+                elu.processeur = processeur.numero;
+                if (elu.debutExecution < 0) {
+                    elu.debutExecution = tempsCourant;
+                }
+                executer(processeur);
+            }
+        }
+    }
+
+    // Vol de travail : un processeur sans processus prêt prend le prochain processus
+    // de la file la plus longue parmi les autres processeurs
+    private Processus voler(Processeur voleur) {
+        Processeur victime = null;
+        for (Processeur processeur : processeurs) {
+            if (processeur != voleur && processeur.filePrets.taille() > 0
+                    && (victime == null || processeur.filePrets.taille() > victime.filePrets.taille())) {
+                victime = processeur;
+            }
+        }
+        if (victime == null) {
+            return null;
+        }
+        resultat.nombreVols++;
+        return victime.filePrets.retirer();
+    }
+
+    // Dérouler le programme du processus élu jusqu'à une instruction qui prend du temps
+    // (calcul, blocage, défaut de page, écriture disque) ou jusqu'à sa fin
+    private void executer(Processeur processeur) {
+        Processus processus = processeur.enCours;
+        while (true) {
+            int instruction = processus.instruction();
+            if (instruction == Processus.AUCUNE) {
                 // Plus d'événements (devrait normalement être géré par FIN)
-                processusEnCours = null;
-                continue;
+                libererProcesseur(processeur);
+                return;
             }
-            switch (evt.type) {
-                case CALCUL: {
-                    // Exécution d'un calcul CPU de durée evt.valeur ms
-                    int duree = evt.valeur;
-                    int finPrevue = tempsCourant + duree;
-                    // Simuler le calcul en avançant le temps, sans interruption par l'ordonnanceur (non préemptif)
-                    while (true) {
-                        // Prochain événement (arrivée ou fin de blocage) avant la fin du calcul ?
-                        int prochainEvtExterne = finPrevue;
-                        if (indexArrivee < listeProcessus.size()) {
-                            prochainEvtExterne = Math.min(prochainEvtExterne, listeProcessus.get(indexArrivee).tempsArrivee);
-                        }
-                        if (!fileBloques.isEmpty()) {
-                            prochainEvtExterne = Math.min(prochainEvtExterne, fileBloques.peek().finBlocage);
-                        }
-                        if (prochainEvtExterne >= finPrevue || prochainEvtExterne > tempsSimulation) {
-                            // Aucun événement externe avant la fin du calcul, ou simulation se termine avant
-                            int finSegment = Math.min(finPrevue, tempsSimulation);
-                            tempsCourant = finSegment;
-                            // Fin du calcul ou de la portion de calcul
-                            System.out.println((tempsCourant - duree) + " - " + tempsCourant + " : Processus " + processusEnCours.id);
-                            // Consommer l'événement CALCUL traité
-                            processusEnCours.avancerEvenement();
-                            // Mettre à jour le début du prochain segment de traitement au même instant (finSegment)
-                            int debutSegment = tempsCourant;
-                            // Si la simulation se termine exactement ici, on sort
-                            if (tempsCourant >= tempsSimulation) {
-                                processusEnCours = null;
-                                break;
-                            }
-                            // Le calcul est terminé, on sort de la boucle de calcul
-                            break;
-                        }
-                        // S'il y a un événement externe avant la fin du calcul, avancer le temps jusqu'à cet événement
-                        tempsCourant = prochainEvtExterne;
-                        // Mettre à jour les arrivées et fin de blocage à tempsCourant
-                        while (indexArrivee < listeProcessus.size() && listeProcessus.get(indexArrivee).tempsArrivee <= tempsCourant) {
-                            filePrets.add(listeProcessus.get(indexArrivee));
-                            indexArrivee++;
-                        }
-                        while (!fileBloques.isEmpty() && fileBloques.peek().finBlocage <= tempsCourant) {
-                            filePrets.add(fileBloques.poll());
-                        }
-                        // Continuer le calcul (pas de changement de processus, non préemptif)
-                        continue;
+            TypeEvenement type = Processus.type(instruction);
+            int valeur = Processus.valeur(instruction);
+            switch (type) {
+                case CALCUL:
+                    // Exécution d'un calcul CPU de durée valeur ms, éventuellement découpé en tranches
+                    if (processus.resteCalcul == 0) {
+                        processus.resteCalcul = valeur;
                     }
-                    if (tempsCourant >= tempsSimulation) {
-                        // Fin de simulation atteinte pendant le calcul
-                        break;
-                    }
-                    // Le calcul est terminé. Continuer avec le même processus (il n'est pas encore bloqué ou terminé).
-                    continue;
-                }
+                    processeur.debutSegment = tempsCourant;
+                    planifierTranche(processeur, processus);
+                    return;
                 case LECTURE:
-                    // Tentative d'accès à la page
-                    String processusId = processusEnCours.id;
-                    if (!gestionMemoire.accederPage(processusId, evt.valeur)) {
-                        // Défaut de page - bloquer le processus pendant le temps de chargement
-                        processusEnCours.finBlocage = tempsCourant + tempsChargePage;
-                        fileBloques.add(processusEnCours);
-                        StringBuilder sb = new StringBuilder();
-                        sb.append(tempsCourant).append(" : Défaut de page (LECTURE) - Processus ").append(processusId).append(" bloqué");
-                        System.out.println(sb.toString());
-                        processusEnCours = null;
-                        continue;
+                case ECRITURE: {
+                    boolean ecriture = type == TypeEvenement.ECRITURE;
+                    if (processus.pageChargee) {
+                        // Accès déjà effectué lors du défaut de page
+                        processus.pageChargee = false;
+                    } else {
+                        // Une seule recherche de la page : le compteur de défauts indique si elle manquait
+                        int defautsAvant = gestionMemoire.getDefautsDePage();
+                        gestionMemoire.accederPage(processus.numero, valeur, ecriture);
+                        if (gestionMemoire.getDefautsDePage() != defautsAvant) {
+                            // Défaut de page - bloquer le processus pendant le temps de chargement
+                            trace.defautPage(numeroTrace(processeur), tempsCourant, valeur, ecriture, processus.rang, processus.id);
+                            bloquer(processeur, tempsCourant + configuration.tempsChargePage, NatureEvenement.FIN_CHARGEMENT_PAGE);
+                            return;
+                        }
                     }
-                    processusEnCours.avancerEvenement();
-                    break;
-                case ECRITURE:
-                    // Tentative d'accès à la page
-                    processusId = processusEnCours.id;
-                    if (!gestionMemoire.accederPage(processusId, evt.valeur)) {
-                        // Défaut de page - bloquer le processus pendant le temps de chargement
-                        processusEnCours.finBlocage = tempsCourant + tempsChargePage;
-                        fileBloques.add(processusEnCours);
-                        StringBuilder sb = new StringBuilder();
-                        sb.append(tempsCourant).append(" : Défaut de page (ECRITURE) - Processus ").append(processusId).append(" bloqué");
-                        System.out.println(sb.toString());
-                        processusEnCours = null;
-                        continue;
+                    processus.avancerEvenement();
+                    if (ecriture) {
+                        // Simuler l'écriture sur le disque
+                        resultat.pistesDisque.ajouter(valeur);
+                        if (disque != null) {
+                            // La requête attend son tour dans la file du disque
+                            disque.soumettre(processus, valeur, numeroTrace(processeur), tempsCourant);
+                            libererProcesseur(processeur);
+                            demarrerDisque();
+                            return;
+                        }
+                        trace.ecritureDisque(numeroTrace(processeur), tempsCourant, valeur, configuration.tempsEcritureDisque,
+                                processus.rang, processus.id);
+                        bloquer(processeur, tempsCourant + configuration.tempsEcritureDisque, NatureEvenement.FIN_DISQUE);
+                        return;
                     }
-                    // Simuler l'écriture sur le disque
-                    pistesDisque.add(evt.valeur);
-                    processusEnCours.finBlocage = tempsCourant + tempsEcritureDisque;
-                    fileBloques.add(processusEnCours);
-                    processusEnCours = null;
                     break;
-                case DORMIR: {
-                    // Événement entraînant un blocage du processus
-                    int dureeBlocage = evt.valeur;
-                    // Consommer l'événement de blocage
-                    processusEnCours.avancerEvenement();
-                    // Déterminer quand le processus sera à nouveau prêt
-                    processusEnCours.finBlocage = tempsCourant + dureeBlocage;
-                    // Insérer le processus dans la liste des bloqués
-                    fileBloques.add(processusEnCours);
-                    // Libérer le CPU (processus passe à l'état Bloqué)
-                    processusEnCours = null;
-                    continue;
                 }
-                case FIN: {
+                case DORMIR:
+                    // Événement entraînant un blocage du processus
+                    processus.avancerEvenement();
+                    bloquer(processeur, tempsCourant + valeur, NatureEvenement.FIN_BLOCAGE);
+                    return;
+                case FIN:
                     // Fin d'exécution du processus
-                    processusEnCours.avancerEvenement();
+                    processus.avancerEvenement();
                     // Collecter les métriques de performance
-                    nbTermines++;
-                    sommeDureesRotation += (tempsCourant - processusEnCours.tempsArrivee);
-                    sommeTempsReponse += (processusEnCours.debutExecution - processusEnCours.tempsArrivee);
-                    // Retirer le processus (terminé)
-                    processusEnCours = null;
-                    continue;
-                }
+                    resultat.nombreTermines++;
+                    resultat.sommeDureesRotation += (tempsCourant - processus.tempsArrivee);
+                    resultat.sommeTempsReponse += (processus.debutExecution - processus.tempsArrivee);
+                    gestionMemoire.libererProcessus(processus.numero);
+                    libererProcesseur(processeur);
+                    return;
             }
         }
+    }
 
-        // Fin de la simulation : affichage du rapport final
-        System.out.println("Nombre de processus terminés = " + nbTermines);
-        if (nbTermines > 0) {
-            double delaiRotationMoyen = (double) sommeDureesRotation / nbTermines;
-            double reactiviteMoyenne = (double) sommeTempsReponse / nbTermines;
-            System.out.printf("Délai de rotation moyen = %.2f ms\n", delaiRotationMoyen);
-            System.out.printf("Réactivité moyenne = %.2f ms\n", reactiviteMoyenne);
+    // Planifier la fin de la prochaine tranche de calcul : fin du CALCUL ou expiration du quantum
+    private void planifierTranche(Processeur processeur, Processus processus) {
+        int quantum = processeur.filePrets.quantum();
+        processus.debutTranche = tempsCourant;
+        if (quantum > 0 && quantum < processus.resteCalcul) {
+            processus.finTranche = planifier(tempsCourant + quantum, NatureEvenement.FIN_QUANTUM, processus);
         } else {
-            System.out.println("Délai de rotation moyen = 0 ms");
-            System.out.println("Réactivité moyenne = 0 ms");
+            processus.finTranche = planifier(tempsCourant + processus.resteCalcul, NatureEvenement.FIN_CALCUL, processus);
         }
+    }
 
-        // À la fin de la simulation, afficher les statistiques de la mémoire
-        System.out.println("\nStatistiques de la gestion mémoire :");
-        System.out.println(gestionMemoire.getTraceMemoire());
-
-        GestionDisque disque = new GestionDisque(pistesDisque, positionInitiale, directionInitiale);
-
-        int deplacementTotal = 0;
-        String algo = algorithmePagement.toLowerCase();
+    // Décompter le temps de calcul effectué depuis le début de la tranche
+    private void finTranche(Processeur processeur, Processus processus) {
+        int effectue = tempsCourant - processus.debutTranche;
+        processus.resteCalcul -= effectue;
+        processus.calculRestant -= effectue;
+        processus.finTranche = null;
+        processeur.tempsOccupe += effectue;
+    }
 
-        switch (algo) {
-            case "fifo":
-                deplacementTotal = disque.fifo();
-                break;
-            case "plus-proche": // alias pour ssf
-            case "ssf":
-                deplacementTotal = disque.ssf();
-                break;
-            case "ascenseur":
-            case "scan":
-                deplacementTotal = disque.scan();
-                break;
-            case "cscan":
-                deplacementTotal = disque.cscan();
-                break;
-            default:
-                System.err.println("Algorithme disque inconnu : " + algorithmePagement);
-                return;
+    // Retirer le processeur au processus en cours : son événement de fin de tranche est annulé
+    // (il sera ignoré à son échéance) et il retourne dans la file des prêts du processeur
+    private void preempter(Processeur processeur) {
+        Processus processus = processeur.enCours;
+        finTranche(processeur, processus);
+        if (tempsCourant > processeur.debutSegment) {
+            trace.execution(numeroTrace(processeur), processeur.debutSegment, tempsCourant, processus.rang, processus.id);
         }
+        processeur.filePrets.ajouter(processus, tempsCourant);
+        libererProcesseur(processeur);
+    }
 
+    // Le processus en cours passe à l'état Bloqué jusqu'à l'instant donné
+    private void bloquer(Processeur processeur, int finBlocage, NatureEvenement nature) {
+        processeur.enCours.finBlocage = finBlocage;
+        planifier(finBlocage, nature, processeur.enCours);
+        libererProcesseur(processeur);
+    }
 
+    // Mettre en service la requête suivante du disque en ligne, s'il est libre ; le processus
+    // est débloqué à la fin du service
+    private void demarrerDisque() {
+        PeripheriqueDisque.Requete requete = disque.demarrer(tempsCourant);
+        if (requete == null) return;
+        trace.ecritureDisque(requete.processeur, tempsCourant, requete.piste, requete.duree,
+                requete.processus.rang, requete.processus.id);
+        requete.processus.finBlocage = tempsCourant + requete.duree;
+        planifier(requete.processus.finBlocage, NatureEvenement.FIN_DISQUE, requete.processus);
+    }
 
-        System.out.println("FIFO Déplacement total : " + disque.fifo());
-        System.out.println("SSF Déplacement total : " + disque.ssf());
-        System.out.println("SCAN Déplacement total : " + disque.scan());
-        System.out.println("CSCAN Déplacement total : " + disque.cscan());
-
-        // Générer un fichier log avec les résultats
-        disque.genererLog("log_disque.txt", "FIFO", disque.fifo());
-        disque.genererLog("log_disque.txt", "SSF", disque.ssf());
-        disque.genererLog("log_disque.txt", "SCAN", disque.scan());
-        disque.genererLog("log_disque.txt", "CSCAN", disque.cscan());
-
-
+    private void libererProcesseur(Processeur processeur) {
+        processeur.enCours = null;
+        processeur.debutInactivite = tempsCourant;
+    }
 
+    // Les lignes de trace ne sont préfixées par le processeur que s'il y en a plusieurs
+    private int numeroTrace(Processeur processeur) {
+        return processeurs.length > 1 ? processeur.numero : -1;
     }
 
     /*
@@ -786,29 +939,145 @@ public class Ordonnanceur {
     // Types d'événements possibles
     enum TypeEvenement { CALCUL, ECRITURE, LECTURE, DORMIR, FIN }
 
-    // Représentation d'un processus
+    // Natures des événements de la simulation. À instant égal, ils sont traités dans cet ordre :
+    // le processus en cours termine son calcul avant que les arrivées et réveils ne rejoignent
+    // la file des prêts, un processus dont le quantum expire passe derrière eux, et l'interruption
+    // d'horloge vient en dernier.
+    enum NatureEvenement {
+        FIN_CALCUL, ARRIVEE, FIN_BLOCAGE, FIN_CHARGEMENT_PAGE, FIN_DISQUE, FIN_QUANTUM, INTERRUPTION_HORLOGE
+    }
+
+    // Événement daté de la file de simulation
+    static class EvenementSimulation implements Comparable<EvenementSimulation> {
+        final int temps;
+        final NatureEvenement nature;
+        final Processus processus; // null pour l'interruption d'horloge
+        final long sequence;       // ordre de planification, pour départager les égalités
+        EvenementSimulation(int temps, NatureEvenement nature, Processus processus, long sequence) {
+            this.temps = temps;
+            this.nature = nature;
+            this.processus = processus;
+            this.sequence = sequence;
+        }
+        @Override
+        public int compareTo(EvenementSimulation autre) {
+            if (temps != autre.temps) return Integer.compare(temps, autre.temps);
+            if (nature != autre.nature) return nature.compareTo(autre.nature);
+            return Long.compare(sequence, autre.sequence);
+        }
+    }
+
+    // Processeur (cœur) simulé avec sa propre file des prêts
+    static class Processeur {
+        final int numero;
+        final PolitiqueOrdonnancement filePrets;
+        Processus enCours;   // processus en cours d'exécution (null si inactif)
+        int debutSegment;    // début du calcul en cours (affichage)
+        int debutInactivite; // début de la période d'inactivité en cours
+        long tempsOccupe;    // temps passé à calculer, pour le taux d'utilisation
+        Processeur(int numero, PolitiqueOrdonnancement filePrets) {
+            this.numero = numero;
+            this.filePrets = filePrets;
+        }
+        // Processus prêts ou en cours sur ce processeur
+        int charge() {
+            return filePrets.taille() + (enCours != null ? 1 : 0);
+        }
+    }
+
+    // Représentation d'un processus. Son programme est codé dans un tableau d'entiers, une instruction
+    // par entier : le type d'événement dans les BITS_TYPE bits de poids fort, la valeur (signée) dans
+    // les autres. Soit 4 octets par instruction, contigus en mémoire, au lieu d'un objet Evenement.
     static class Processus {
+        static final int BITS_TYPE = 3;
+        static final int BITS_VALEUR = Integer.SIZE - BITS_TYPE;
+        static final int VALEUR_MIN = -(1 << (BITS_VALEUR - 1));
+        static final int VALEUR_MAX = (1 << (BITS_VALEUR - 1)) - 1;
+        static final int AUCUNE = -1; // pas d'instruction (fin du programme) ; type hors de TypeEvenement
+        private static final TypeEvenement[] TYPES = TypeEvenement.values();
+
         String id;
+        int numero; // Numéro dense attribué par la gestion mémoire
+        int rang;   // Rang d'arrivée, numéro du processus dans les traces
         int tempsArrivee;
         int priorite;
-        java.util.List<Evenement> evenements;
+        final int[] programme;
         int indexEvenement;
         int finBlocage;
         int debutExecution;
-        Processus(String id, int tempsArrivee, int priorite, java.util.List<Evenement> evenements) {
+        boolean pageChargee; // L'accès mémoire en attente a déjà été servi par un chargement de page
+        int resteCalcul;     // Temps restant du CALCUL en cours (0 : pas encore commencé)
+        int calculRestant;   // Temps de calcul restant sur l'ensemble du programme
+        int debutTranche;    // Début de la tranche de calcul en cours
+        EvenementSimulation finTranche; // Fin de tranche attendue (null si aucune)
+        int processeur = -1;            // Dernier processeur sur lequel le processus s'est exécuté
+        long cleOrdonnancement;         // Clé de la file des prêts (voir PolitiqueOrdonnancement)
+        long ordreFile;                 // Rang d'entrée dans la file des prêts
+        Processus(String id, int tempsArrivee, int priorite, int[] programme) {
             this.id = id;
             this.tempsArrivee = tempsArrivee;
             this.priorite = priorite;
-            this.evenements = evenements;
+            this.programme = programme;
             this.indexEvenement = 0;
             this.finBlocage = 0;
             this.debutExecution = -1;
+            for (int instruction : programme) {
+                if (type(instruction) == TypeEvenement.CALCUL) calculRestant += valeur(instruction);
+            }
         }
-        Evenement prochainEvenement() {
-            return (indexEvenement < evenements.size() ? evenements.get(indexEvenement) : null);
+        // Construction à partir d'une liste d'événements (pratique pour les tests)
+        Processus(String id, int tempsArrivee, int priorite, java.util.List<Evenement> evenements) {
+            this(id, tempsArrivee, priorite, coder(evenements));
+        }
+
+        static int coder(TypeEvenement type, int valeur) {
+            if (valeur < VALEUR_MIN || valeur > VALEUR_MAX) {
+                throw new IllegalArgumentException("Valeur d'événement hors limites : " + valeur);
+            }
+            return (type.ordinal() << BITS_VALEUR) | (valeur & ((1 << BITS_VALEUR) - 1));
+        }
+        static int[] coder(java.util.List<Evenement> evenements) {
+            int[] programme = new int[evenements.size()];
+            for (int i = 0; i < programme.length; i++) {
+                programme[i] = coder(evenements.get(i).type, evenements.get(i).valeur);
+            }
+            return programme;
+        }
+        static TypeEvenement type(int instruction) {
+            return TYPES[instruction >>> BITS_VALEUR];
+        }
+        static int valeur(int instruction) {
+            return (instruction << BITS_TYPE) >> BITS_TYPE; // extension du signe
+        }
+
+        // Instruction courante (AUCUNE si le programme est terminé)
+        int instruction() {
+            return indexEvenement < programme.length ? programme[indexEvenement] : AUCUNE;
+        }
+        int nombreEvenements() {
+            return programme.length;
+        }
+        // Événement d'indice donné, décodé
+        Evenement evenement(int i) {
+            return new Evenement(type(programme[i]), valeur(programme[i]));
         }
         void avancerEvenement() {
             indexEvenement++;
         }
+        // Suite des numéros de pages référencés (LECTURE/ECRITURE), dans l'ordre du programme
+        int[] referencesPages() {
+            int nombre = 0;
+            for (int instruction : programme) {
+                TypeEvenement type = type(instruction);
+                if (type == TypeEvenement.LECTURE || type == TypeEvenement.ECRITURE) nombre++;
+            }
+            int[] pages = new int[nombre];
+            int i = 0;
+            for (int instruction : programme) {
+                TypeEvenement type = type(instruction);
+                if (type == TypeEvenement.LECTURE || type == TypeEvenement.ECRITURE) pages[i++] = valeur(instruction);
+            }
+            return pages;
+        }
     }
 }
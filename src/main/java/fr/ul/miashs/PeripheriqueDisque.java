@@ -0,0 +1,320 @@
+package fr.ul.miashs;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+
+// Disque simulé pendant la simulation (disque-en-ligne=true) : les écritures des processus sont mises
+// en file et servies une à une, dans l'ordre choisi par disque-ordonnancement (mêmes algorithmes que
+// GestionDisque). NSTEP et FSCAN servent un lot de requêtes à la fois, pris dans l'ordre d'arrivée
+// (lot de disque-lot requêtes, ou toutes celles en attente au début du balayage pour FSCAN) ; les
+// requêtes arrivées entre-temps attendent le lot suivant. DEADLINE compte l'attente d'une requête en
+// nombre de services commencés depuis sa soumission.
+// La durée de service d'une requête est le déplacement du bras multiplié par disque-temps-piste, plus
+// le temps de transfert (temps-écriture-disque) ; le processus reste bloqué jusqu'à la fin de sa requête.
+// Les requêtes en attente sont rangées par piste, avec un BitSet des pistes demandées : la piste
+// demandée la plus proche de part et d'autre du bras se trouve sans allouer d'Integer.
+// Sont mesurés la profondeur de la file (moyenne pondérée par le temps, maximum), le déplacement
+// du bras et la latence des requêtes (de la soumission à la fin du service).
+class PeripheriqueDisque {
+
+    // Requête d'écriture d'un processus
+    static final class Requete {
+        final Processus processus;
+        final int piste;
+        final int processeur;    // processeur d'où vient la requête (pour la trace)
+        final int soumission;
+        final long rang;         // ordre de soumission, pour départager les requêtes
+        final long demarresAvant; // services commencés avant la soumission (DEADLINE)
+        int duree;               // durée de service, connue à la mise en service
+        boolean servie;
+
+        Requete(Processus processus, int piste, int processeur, int soumission, long rang, long demarresAvant) {
+            this.processus = processus;
+            this.piste = piste;
+            this.processeur = processeur;
+            this.soumission = soumission;
+            this.rang = rang;
+            this.demarresAvant = demarresAvant;
+        }
+    }
+
+    private final String politique;
+    private final double tempsParPiste;
+    private final int tempsTransfert;
+    private final int dernierePiste;
+    private int position;
+    private boolean versDroite;
+    private int lot = 16;
+    private int echeance = 64;
+
+    private final ArrayDeque<Requete> fileFifo = new ArrayDeque<>();      // FIFO ; arrivées pour NSTEP et FSCAN
+    private final ArrayDeque<Requete>[] parPiste;    // requêtes à balayer, par piste (null si aucune)
+    private final BitSet pistesDemandees = new BitSet(); // pistes dont parPiste n'est pas vide
+    private final ArrayDeque<Requete> parAnciennete = new ArrayDeque<>(); // DEADLINE (servies retirées en tête)
+    private long demarres;
+    private int enAttente;
+    private Requete enService;
+    private long rangSuivant;
+    private long deplacement;      // déplacement du bras jusqu'à la piste choisie par choisirPiste
+
+    // Mesures
+    private long deplacementTotal;
+    private long tempsOccupe;
+    private int servies;
+    private int[] latences = new int[64];
+    private long aireProfondeur;   // somme de profondeur × durée
+    private int profondeurMax;
+    private int dernierChangement;
+
+    PeripheriqueDisque(String politique, int positionInitiale, String directionInitiale,
+                       int nombrePistes, double tempsParPiste, int tempsTransfert) {
+        this.politique = GestionDisque.nomAlgorithme(politique);
+        if (this.politique == null) {
+            throw new IllegalArgumentException("Algorithme disque inconnu : " + politique);
+        }
+        if (nombrePistes < 1) {
+            throw new IllegalArgumentException("Nombre de pistes du disque invalide : " + nombrePistes);
+        }
+        if (positionInitiale < 0 || positionInitiale >= nombrePistes) {
+            throw new IllegalArgumentException("Piste hors du disque (0 à " + (nombrePistes - 1) + ") : " + positionInitiale);
+        }
+        this.position = positionInitiale;
+        this.versDroite = !"gauche".equals(directionInitiale);
+        this.dernierePiste = nombrePistes - 1;
+        this.tempsParPiste = tempsParPiste;
+        this.tempsTransfert = tempsTransfert;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayDeque<Requete>[] files = new ArrayDeque[nombrePistes];
+        this.parPiste = files;
+    }
+
+    // Disque décrit par la configuration
+    static PeripheriqueDisque creer(Configuration configuration) {
+        PeripheriqueDisque disque = new PeripheriqueDisque(configuration.disqueOrdonnancement,
+                configuration.positionInitiale, configuration.directionInitiale, configuration.disqueNombrePistes,
+                configuration.disqueTempsPiste, configuration.tempsEcritureDisque);
+        if (configuration.disqueLot < 1) {
+            throw new IllegalArgumentException("Taille de lot du disque invalide : " + configuration.disqueLot);
+        }
+        if (configuration.disqueEcheance < 1) {
+            throw new IllegalArgumentException("Échéance du disque invalide : " + configuration.disqueEcheance);
+        }
+        disque.lot = configuration.disqueLot;
+        disque.echeance = configuration.disqueEcheance;
+        return disque;
+    }
+
+    boolean occupe() {
+        return enService != null;
+    }
+
+    // Mettre une requête en attente
+    void soumettre(Processus processus, int piste, int processeur, int temps) {
+        if (piste < 0 || piste > dernierePiste) {
+            throw new IllegalArgumentException("Piste hors du disque (0 à " + dernierePiste + ") : " + piste);
+        }
+        noterProfondeur(temps);
+        Requete requete = new Requete(processus, piste, processeur, temps, rangSuivant++, demarres);
+        if (parLots() || politique.equals("FIFO")) {
+            fileFifo.addLast(requete);
+        } else {
+            ajouter(requete);
+        }
+        if (politique.equals("DEADLINE")) {
+            parAnciennete.addLast(requete);
+        }
+        enAttente++;
+        profondeurMax = Math.max(profondeurMax, enAttente);
+    }
+
+    // Mettre en service la requête suivante selon la politique (null si la file est vide) ;
+    // sa durée de service est alors connue
+    Requete demarrer(int temps) {
+        if (enService != null || enAttente == 0) return null;
+        noterProfondeur(temps);
+        Requete requete;
+        long distance;
+        if (politique.equals("FIFO")) {
+            requete = fileFifo.pollFirst();
+            distance = Math.abs((long) requete.piste - position);
+        } else {
+            if (pistesDemandees.isEmpty()) {
+                // NSTEP, FSCAN : nouveau lot pris parmi les arrivées
+                int taille = politique.equals("NSTEP") ? Math.min(lot, fileFifo.size()) : fileFifo.size();
+                for (int i = 0; i < taille; i++) {
+                    ajouter(fileFifo.pollFirst());
+                }
+            }
+            int piste = choisirPiste();
+            distance = deplacement;
+            ArrayDeque<Requete> file = parPiste[piste];
+            requete = file.pollFirst();
+            if (file.isEmpty()) {
+                parPiste[piste] = null;
+                pistesDemandees.clear(piste);
+            }
+        }
+        enAttente--;
+        demarres++;
+        requete.servie = true;
+        position = requete.piste;
+        deplacementTotal += distance;
+        requete.duree = (int) Math.round(distance * tempsParPiste) + tempsTransfert;
+        tempsOccupe += requete.duree;
+        enService = requete;
+        return requete;
+    }
+
+    // Fin du service de la requête en cours
+    Requete terminer(int temps) {
+        Requete requete = enService;
+        enService = null;
+        if (servies == latences.length) {
+            latences = Arrays.copyOf(latences, 2 * servies);
+        }
+        latences[servies++] = temps - requete.soumission;
+        return requete;
+    }
+
+    // Piste de la prochaine requête pour SSF, SCAN et CSCAN (calcule aussi le déplacement)
+    private int choisirPiste() {
+        int gauche = pistesDemandees.previousSetBit(position); // -1 : aucune
+        int droite = pistesDemandees.nextSetBit(position);
+        switch (politique) {
+            case "SSF": {
+                // À distance égale, la piste dont la première requête est la plus ancienne
+                int piste;
+                if (gauche < 0) {
+                    piste = droite;
+                } else if (droite < 0) {
+                    piste = gauche;
+                } else {
+                    long distanceGauche = (long) position - gauche;
+                    long distanceDroite = (long) droite - position;
+                    if (distanceGauche != distanceDroite) {
+                        piste = distanceGauche < distanceDroite ? gauche : droite;
+                    } else {
+                        piste = parPiste[gauche].peekFirst().rang < parPiste[droite].peekFirst().rang ? gauche : droite;
+                    }
+                }
+                deplacement = Math.abs((long) piste - position);
+                return piste;
+            }
+            case "SCAN":
+            case "NSTEP":
+            case "FSCAN":
+            case "LOOK": {
+                // Le bras poursuit dans son sens ; sans requête devant lui, il repart dans l'autre sens,
+                // après être allé jusqu'au bord sauf pour LOOK
+                boolean auBord = !politique.equals("LOOK");
+                if (versDroite) {
+                    if (droite >= 0) {
+                        deplacement = (long) droite - position;
+                        return droite;
+                    }
+                    versDroite = false;
+                    deplacement = auBord ? (long) (dernierePiste - position) + (dernierePiste - gauche) : (long) position - gauche;
+                    return gauche;
+                }
+                if (gauche >= 0) {
+                    deplacement = (long) position - gauche;
+                    return gauche;
+                }
+                versDroite = true;
+                deplacement = auBord ? (long) position + droite : (long) droite - position;
+                return droite;
+            }
+            case "DEADLINE":
+                // Au début de chaque lot, la plus ancienne requête passe d'abord si son échéance est dépassée
+                if (demarres % lot == 0) {
+                    while (parAnciennete.peekFirst().servie) {
+                        parAnciennete.pollFirst();
+                    }
+                    Requete plusAncienne = parAnciennete.peekFirst();
+                    if (demarres - plusAncienne.demarresAvant >= echeance) {
+                        deplacement = Math.abs((long) plusAncienne.piste - position);
+                        return plusAncienne.piste;
+                    }
+                }
+                // sinon C-LOOK
+                return choisirClook(droite);
+            case "CLOOK":
+                return choisirClook(droite);
+            default: { // CSCAN
+                // Toujours vers la droite ; au bout, retour à la piste 0 (compté comme un déplacement complet)
+                if (droite >= 0) {
+                    deplacement = (long) droite - position;
+                    return droite;
+                }
+                int plusBasse = pistesDemandees.nextSetBit(0);
+                deplacement = (long) (dernierePiste - position) + dernierePiste + plusBasse;
+                return plusBasse;
+            }
+        }
+    }
+
+    // C-LOOK : toujours vers la droite ; au bout, retour direct à la plus basse requête
+    private int choisirClook(int droite) {
+        if (droite >= 0) {
+            deplacement = (long) droite - position;
+            return droite;
+        }
+        int plusBasse = pistesDemandees.nextSetBit(0);
+        deplacement = (long) position - plusBasse;
+        return plusBasse;
+    }
+
+    private boolean parLots() {
+        return politique.equals("NSTEP") || politique.equals("FSCAN");
+    }
+
+    private void ajouter(Requete requete) {
+        if (parPiste[requete.piste] == null) {
+            parPiste[requete.piste] = new ArrayDeque<>();
+            pistesDemandees.set(requete.piste);
+        }
+        parPiste[requete.piste].addLast(requete);
+    }
+
+    private void noterProfondeur(int temps) {
+        aireProfondeur += (long) enAttente * (temps - dernierChangement);
+        dernierChangement = temps;
+    }
+
+    // Rapport : requêtes servies, file d'attente et latences (centiles au rang le plus proche)
+    String rapport(int tempsSimulation) {
+        noterProfondeur(tempsSimulation);
+        StringBuilder rapport = new StringBuilder();
+        rapport.append(String.format("Disque en ligne (%s) : %d requêtes servies, déplacement total = %d pistes, utilisation = %.2f %%%n",
+                politique, servies, deplacementTotal, tempsSimulation > 0 ? 100.0 * Math.min(tempsOccupe, tempsSimulation) / tempsSimulation : 0));
+        rapport.append(String.format("File du disque : profondeur moyenne = %.2f, profondeur maximale = %d%n",
+                tempsSimulation > 0 ? (double) aireProfondeur / tempsSimulation : 0, profondeurMax));
+        if (servies > 0) {
+            int[] triees = Arrays.copyOf(latences, servies);
+            Arrays.sort(triees);
+            long somme = 0;
+            for (int latence : triees) {
+                somme += latence;
+            }
+            rapport.append(String.format("Latence des écritures : moyenne = %.2f ms, p50 = %d ms, p90 = %d ms, p99 = %d ms, max = %d ms%n",
+                    (double) somme / servies, centile(triees, 50), centile(triees, 90), centile(triees, 99), triees[servies - 1]));
+        }
+        return rapport.toString();
+    }
+
+    private static int centile(int[] triees, int p) {
+        int rang = (int) Math.ceil(p / 100.0 * triees.length);
+        return triees[Math.max(0, rang - 1)];
+    }
+
+    int nombreServies() {
+        return servies;
+    }
+
+    long deplacementTotal() {
+        return deplacementTotal;
+    }
+}
@@ -0,0 +1,173 @@
+package fr.ul.miashs;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+
+// Politique d'ordonnancement : gère la file des processus prêts et décide des préemptions.
+// Les files à priorité sont des tas binaires (ajout et retrait en O(log n)) ; à clé égale,
+// l'ordre d'entrée dans la file est respecté.
+interface PolitiqueOrdonnancement {
+
+    // Le processus devient prêt à l'instant donné
+    void ajouter(Processus processus, int temps);
+
+    // Retirer le prochain processus à élire
+    Processus retirer();
+
+    boolean estVide();
+
+    int taille();
+
+    // Durée maximale d'une tranche de calcul (0 : pas de quantum)
+    default int quantum() {
+        return 0;
+    }
+
+    // Le processus en tête de file doit-il prendre le processeur au processus en cours ?
+    default boolean doitPreempter(Processus enCours, int temps) {
+        return false;
+    }
+
+    // Création de la politique désignée par processus-ordonnancement (null si inconnue)
+    static PolitiqueOrdonnancement creer(Configuration configuration) {
+        switch (configuration.strategieOrdonnancement.toUpperCase()) {
+            case "FIFO":
+                return new Fifo();
+            case "RR":
+            case "ROUND-ROBIN":
+                return new TourniquetRR(configuration.quantum);
+            case "SJF":
+                return new PlusCourtRestant(false);
+            case "SRTF":
+                return new PlusCourtRestant(true);
+            case "PRIORITE":
+                return new Priorite(configuration.vieillissement);
+            default:
+                return null;
+        }
+    }
+
+    // Premier arrivé, premier servi, sans préemption
+    class Fifo implements PolitiqueOrdonnancement {
+        private final ArrayDeque<Processus> file = new ArrayDeque<>();
+
+        @Override
+        public void ajouter(Processus processus, int temps) {
+            file.add(processus);
+        }
+
+        @Override
+        public Processus retirer() {
+            return file.poll();
+        }
+
+        @Override
+        public boolean estVide() {
+            return file.isEmpty();
+        }
+
+        @Override
+        public int taille() {
+            return file.size();
+        }
+    }
+
+    // Tourniquet : FIFO dont les tranches de calcul sont limitées au quantum
+    class TourniquetRR extends Fifo {
+        private final int quantum;
+
+        TourniquetRR(int quantum) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Le tourniquet nécessite un processus-quantum positif");
+            }
+            this.quantum = quantum;
+        }
+
+        @Override
+        public int quantum() {
+            return quantum;
+        }
+    }
+
+    // File à priorité sur une clé calculée à l'entrée dans la file (plus petite clé élue d'abord)
+    abstract class FileParCle implements PolitiqueOrdonnancement {
+        private final PriorityQueue<Processus> file = new PriorityQueue<>(
+                Comparator.<Processus>comparingLong(p -> p.cleOrdonnancement).thenComparingLong(p -> p.ordreFile));
+        private long ordre;
+
+        protected abstract long cle(Processus processus, int temps);
+
+        @Override
+        public void ajouter(Processus processus, int temps) {
+            processus.cleOrdonnancement = cle(processus, temps);
+            processus.ordreFile = ordre++;
+            file.add(processus);
+        }
+
+        @Override
+        public Processus retirer() {
+            return file.poll();
+        }
+
+        @Override
+        public boolean estVide() {
+            return file.isEmpty();
+        }
+
+        @Override
+        public int taille() {
+            return file.size();
+        }
+
+        protected Processus tete() {
+            return file.peek();
+        }
+    }
+
+    // Plus court temps de calcul restant d'abord : SJF sans préemption, SRTF avec
+    class PlusCourtRestant extends FileParCle {
+        private final boolean preemptif;
+
+        PlusCourtRestant(boolean preemptif) {
+            this.preemptif = preemptif;
+        }
+
+        @Override
+        protected long cle(Processus processus, int temps) {
+            return processus.calculRestant;
+        }
+
+        @Override
+        public boolean doitPreempter(Processus enCours, int temps) {
+            return preemptif && !estVide()
+                    && tete().calculRestant < enCours.calculRestant - (temps - enCours.debutTranche);
+        }
+    }
+
+    // Priorité préemptive (plus petite valeur = plus prioritaire) avec vieillissement :
+    // un processus prêt gagne un niveau de priorité tous les `vieillissement` ms d'attente.
+    // La priorité effective à l'instant t vaut priorite - (t - entree) / vieillissement ; comparer
+    // deux processus en attente revient donc à comparer priorite * vieillissement + entree,
+    // valeur fixée à l'entrée dans la file, ce qui permet de garder un tas ordinaire.
+    class Priorite extends FileParCle {
+        private final int vieillissement;
+
+        Priorite(int vieillissement) {
+            this.vieillissement = vieillissement;
+        }
+
+        @Override
+        protected long cle(Processus processus, int temps) {
+            return vieillissement > 0 ? (long) processus.priorite * vieillissement + temps : processus.priorite;
+        }
+
+        @Override
+        public boolean doitPreempter(Processus enCours, int temps) {
+            // Le processus en cours a retrouvé sa priorité de base en étant élu
+            return !estVide() && tete().cleOrdonnancement < cle(enCours, temps);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package fr.ul.miashs;
+
+import java.util.Arrays;
+
+// Résultat d'un algorithme d'ordonnancement du disque, calculé une fois puis affiché ou journalisé
+public class ResultatDisque {
+    public final String algorithme;
+    public final long deplacementTotal;
+    public final int[] ordre;        // pistes des requêtes, dans l'ordre où elles sont servies
+    public final int[] deplacements; // déplacement du bras pour atteindre chaque requête de ordre
+    public final int[] sequence;     // positions successives du bras (départ et bornes comprises)
+
+    ResultatDisque(String algorithme, long deplacementTotal, int[] ordre, int[] deplacements, int[] sequence) {
+        this.algorithme = algorithme;
+        this.deplacementTotal = deplacementTotal;
+        this.ordre = ordre;
+        this.deplacements = deplacements;
+        this.sequence = sequence;
+    }
+
+    // Parcours du bras enregistré pas à pas : chaque position visitée est ajoutée à la séquence,
+    // et le chemin parcouru depuis la requête précédente est attribué à la prochaine requête servie
+    static final class Parcours {
+        private final int[] sequence;
+        private final int[] ordre;
+        private final int[] deplacements;
+        private int nombrePositions;
+        private int nombreRequetes;
+        private int position;
+        private long total;
+        private int depuisRequete;
+
+        Parcours(int positionInitiale, int nombreRequetes, int nombrePositions) {
+            this.position = positionInitiale;
+            this.ordre = new int[nombreRequetes];
+            this.deplacements = new int[nombreRequetes];
+            this.sequence = new int[nombrePositions];
+        }
+
+        // Déplacer le bras jusqu'à la piste et l'ajouter à la séquence (requete : une requête y est servie)
+        void visiter(int piste, boolean requete) {
+            int distance = Math.abs(piste - position);
+            total += distance;
+            depuisRequete += distance;
+            position = piste;
+            sequence[nombrePositions++] = piste;
+            if (requete) {
+                ordre[nombreRequetes] = piste;
+                deplacements[nombreRequetes++] = depuisRequete;
+                depuisRequete = 0;
+            }
+        }
+
+        // Retour du bras à une piste sans rien servir en chemin, pour un déplacement compté à part
+        void sauter(int piste, int distance) {
+            total += distance;
+            depuisRequete += distance;
+            position = piste;
+            sequence[nombrePositions++] = piste;
+        }
+
+        int position() {
+            return position;
+        }
+
+        ResultatDisque resultat(String algorithme) {
+            return new ResultatDisque(algorithme, total, ordre, deplacements, Arrays.copyOf(sequence, nombrePositions));
+        }
+    }
+}
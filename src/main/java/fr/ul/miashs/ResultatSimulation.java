@@ -0,0 +1,34 @@
+package fr.ul.miashs;
+
+// Mesures d'une simulation, propres à cette exécution : rien n'est partagé entre deux simulations,
+// qui peuvent donc s'exécuter en parallèle (voir BalayageParametres).
+class ResultatSimulation {
+    int nombreTermines;
+    long sommeDureesRotation;
+    long sommeTempsReponse;
+    long nombreEvenements;     // événements traités par la boucle de simulation
+    int nombreVols;            // processus pris par vol de travail
+    long[] tempsOccupe;        // temps de calcul de chaque processeur
+    GestionMemoire memoire;    // gestion mémoire de la simulation (défauts de page, trace)
+    AnalyseurPiles references; // suite des références enregistrée (pagination-analyse), null sinon
+    PeripheriqueDisque disque; // disque simulé pendant l'exécution (disque-en-ligne), null sinon
+    final ListeEntiers pistesDisque = new ListeEntiers(); // pistes écrites, dans l'ordre des requêtes
+
+    double delaiRotationMoyen() {
+        return nombreTermines > 0 ? (double) sommeDureesRotation / nombreTermines : 0;
+    }
+
+    double reactiviteMoyenne() {
+        return nombreTermines > 0 ? (double) sommeTempsReponse / nombreTermines : 0;
+    }
+
+    // Utilisation moyenne des processeurs sur la durée simulée, en pourcentage
+    double utilisationMoyenne(int tempsSimulation) {
+        if (tempsSimulation <= 0 || tempsOccupe.length == 0) return 0;
+        long total = 0;
+        for (long occupe : tempsOccupe) {
+            total += occupe;
+        }
+        return 100.0 * total / ((long) tempsSimulation * tempsOccupe.length);
+    }
+}
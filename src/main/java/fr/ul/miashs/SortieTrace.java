@@ -0,0 +1,155 @@
+package fr.ul.miashs;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// Destination de la trace d'exécution de l'ordonnanceur (segments de calcul, inactivité, défauts de page,
+// écritures disque). Le numéro de processeur vaut -1 lorsqu'un seul processeur est simulé : la ligne n'est
+// alors pas préfixée. Un processus est désigné par son rang d'arrivée (0, 1, 2...) et son identifiant.
+// La trace doit être fermée en fin de simulation pour que tout soit écrit.
+interface SortieTrace extends AutoCloseable {
+
+    // Le processus a calculé sur le processeur de debut à fin
+    void execution(int processeur, int debut, int fin, int numero, String processus);
+
+    // Le processeur est resté inactif de debut à fin
+    void inactivite(int processeur, int debut, int fin);
+
+    // Défaut de page à l'instant donné, qui bloque le processus
+    void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus);
+
+    // Le processus est bloqué par une écriture sur la piste donnée, pendant la durée donnée
+    void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus);
+
+    // Écrire ce qui reste en attente et libérer la destination
+    @Override
+    void close();
+
+    // Création de la trace décrite par trace-sortie (console, fichier, binaire ou aucune)
+    static SortieTrace creer(Configuration configuration) throws IOException {
+        SortieTrace trace;
+        switch (configuration.traceSortie.toLowerCase()) {
+            case "aucune":
+                return new Aucune();
+            case "console":
+                // Même encodage que System.out, qui n'est pas fermé avec la trace
+                trace = new Texte(new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset())), false);
+                break;
+            case "fichier":
+                trace = new Texte(Files.newBufferedWriter(Paths.get(configuration.traceFichier), StandardCharsets.UTF_8), true);
+                break;
+            case "binaire":
+                trace = new TraceBinaire(Paths.get(configuration.traceFichier));
+                break;
+            default:
+                throw new IllegalArgumentException("Sortie de trace inconnue : " + configuration.traceSortie);
+        }
+        return configuration.traceAsynchrone ? new TraceAsynchrone(trace) : trace;
+    }
+
+    // Aucune trace : pour les simulations dont seules les mesures finales comptent
+    final class Aucune implements SortieTrace {
+        @Override
+        public void execution(int processeur, int debut, int fin, int numero, String processus) {
+        }
+
+        @Override
+        public void inactivite(int processeur, int debut, int fin) {
+        }
+
+        @Override
+        public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+        }
+
+        @Override
+        public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Trace texte, une ligne par élément, écrite dans un Writer tamponné.
+    // Les lignes sont construites dans un StringBuilder réutilisé puis copiées dans un tableau de
+    // caractères, lui aussi réutilisé, pour ne créer aucune chaîne intermédiaire.
+    final class Texte implements SortieTrace {
+        private static final String FIN_LIGNE = System.lineSeparator();
+
+        private final Writer sortie;
+        private final boolean fermerSortie;
+        private final StringBuilder ligne = new StringBuilder(64);
+        private char[] caracteres = new char[64];
+
+        Texte(Writer sortie, boolean fermerSortie) {
+            this.sortie = sortie;
+            this.fermerSortie = fermerSortie;
+        }
+
+        @Override
+        public void execution(int processeur, int debut, int fin, int numero, String processus) {
+            prefixe(processeur).append(debut).append(" - ").append(fin).append(" : Processus ").append(processus);
+            ecrire();
+        }
+
+        @Override
+        public void inactivite(int processeur, int debut, int fin) {
+            prefixe(processeur).append(debut).append(" - ").append(fin).append(" : Inactivité");
+            ecrire();
+        }
+
+        @Override
+        public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+            prefixe(processeur).append(temps).append(" : Défaut de page (").append(ecriture ? "ECRITURE" : "LECTURE")
+                    .append(") - Processus ").append(processus).append(" bloqué");
+            ecrire();
+        }
+
+        // Les écritures disque ne figurent pas dans la trace texte
+        @Override
+        public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (fermerSortie) {
+                    sortie.close();
+                } else {
+                    sortie.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private StringBuilder prefixe(int processeur) {
+            ligne.setLength(0);
+            if (processeur >= 0) {
+                ligne.append("[CPU ").append(processeur).append("] ");
+            }
+            return ligne;
+        }
+
+        private void ecrire() {
+            ligne.append(FIN_LIGNE);
+            int longueur = ligne.length();
+            if (longueur > caracteres.length) {
+                caracteres = new char[Math.max(longueur, 2 * caracteres.length)];
+            }
+            ligne.getChars(0, longueur, caracteres, 0);
+            try {
+                sortie.write(caracteres, 0, longueur);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package fr.ul.miashs;
+
+import java.io.IOException;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+
+// Source des processus à simuler, fournis un par un par ordre de temps d'arrivée croissant.
+// L'ordonnanceur ne demande le processus suivant qu'à l'arrivée du précédent, et la gestion mémoire
+// libère l'état d'un processus à sa fin (GestionMemoire.libererProcessus) : seuls les processus déjà
+// arrivés et non terminés restent en mémoire, avec en allocation globale les pages des processus
+// terminés encore présentes dans les cadres, au plus une par cadre.
+interface SourceProcessus extends AutoCloseable {
+
+    // Processus suivant, ou null s'il n'y en a plus
+    Processus suivant() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
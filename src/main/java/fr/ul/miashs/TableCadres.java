@@ -0,0 +1,197 @@
+package fr.ul.miashs;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Table des cadres physiques, rangée par colonnes (une colonne par champ) plutôt qu'en objets Page :
+// numéro de processus (int), numéro de page (int), état (int) et date du dernier accès (long),
+// soit 20 octets par cadre sans en-tête d'objet ni référence à suivre.
+// L'état regroupe le bit M (bit 0) et la période d'horloge du dernier accès (bits suivants),
+// dont est déduit le bit R.
+// Deux implantations : tableaux Java (tas) ou un ByteBuffer direct, hors du tas et donc ignoré du GC.
+abstract class TableCadres {
+    private static final int BIT_MODIFIE = 1;
+
+    public static TableCadres creer(int capacite, boolean directe) {
+        return directe ? new Directe(capacite) : new Tas(capacite);
+    }
+
+    public abstract int capacite();
+
+    // Agrandir la table pour contenir au moins la capacité demandée (contenu conservé)
+    public abstract void agrandir(int capacite);
+
+    public abstract int processus(int cadre);
+
+    public abstract int page(int cadre);
+
+    public abstract long dernierAcces(int cadre);
+
+    public abstract void definirDernierAcces(int cadre, long temps);
+
+    protected abstract int etat(int cadre);
+
+    protected abstract void definirEtat(int cadre, int etat);
+
+    protected abstract void definirPage(int cadre, int processus, int page);
+
+    // Charger une page dans le cadre : bits R et M à 0
+    public void charger(int cadre, int processus, int page, int periodeAucune) {
+        definirPage(cadre, processus, page);
+        definirEtat(cadre, periodeAucune << 1);
+    }
+
+    public int periodeReference(int cadre) {
+        return etat(cadre) >> 1;
+    }
+
+    public void definirPeriodeReference(int cadre, int periode) {
+        definirEtat(cadre, (periode << 1) | (etat(cadre) & BIT_MODIFIE));
+    }
+
+    public boolean modifie(int cadre) {
+        return (etat(cadre) & BIT_MODIFIE) != 0;
+    }
+
+    public void definirModifie(int cadre, boolean modifie) {
+        int etat = etat(cadre);
+        definirEtat(cadre, modifie ? etat | BIT_MODIFIE : etat & ~BIT_MODIFIE);
+    }
+
+    // Colonnes dans des tableaux d'entiers du tas Java
+    private static final class Tas extends TableCadres {
+        private int[] processus;
+        private int[] pages;
+        private int[] etats;
+        private long[] derniersAcces;
+
+        Tas(int capacite) {
+            processus = new int[capacite];
+            pages = new int[capacite];
+            etats = new int[capacite];
+            derniersAcces = new long[capacite];
+        }
+
+        @Override
+        public int capacite() {
+            return pages.length;
+        }
+
+        @Override
+        public void agrandir(int capacite) {
+            processus = Arrays.copyOf(processus, capacite);
+            pages = Arrays.copyOf(pages, capacite);
+            etats = Arrays.copyOf(etats, capacite);
+            derniersAcces = Arrays.copyOf(derniersAcces, capacite);
+        }
+
+        @Override
+        public int processus(int cadre) {
+            return processus[cadre];
+        }
+
+        @Override
+        public int page(int cadre) {
+            return pages[cadre];
+        }
+
+        @Override
+        public long dernierAcces(int cadre) {
+            return derniersAcces[cadre];
+        }
+
+        @Override
+        public void definirDernierAcces(int cadre, long temps) {
+            derniersAcces[cadre] = temps;
+        }
+
+        @Override
+        protected int etat(int cadre) {
+            return etats[cadre];
+        }
+
+        @Override
+        protected void definirEtat(int cadre, int etat) {
+            etats[cadre] = etat;
+        }
+
+        @Override
+        protected void definirPage(int cadre, int processus, int page) {
+            this.processus[cadre] = processus;
+            this.pages[cadre] = page;
+        }
+    }
+
+    // Enregistrements de taille fixe dans un ByteBuffer direct, hors du tas Java
+    private static final class Directe extends TableCadres {
+        private static final int TAILLE_ENREGISTREMENT = 20;
+        private static final int PROCESSUS = 0;
+        private static final int PAGE = 4;
+        private static final int ETAT = 8;
+        private static final int DERNIER_ACCES = 12;
+
+        private ByteBuffer tampon;
+
+        Directe(int capacite) {
+            tampon = allouer(capacite);
+        }
+
+        private static ByteBuffer allouer(int capacite) {
+            return ByteBuffer.allocateDirect(Math.multiplyExact(capacite, TAILLE_ENREGISTREMENT))
+                    .order(ByteOrder.nativeOrder());
+        }
+
+        @Override
+        public int capacite() {
+            return tampon.capacity() / TAILLE_ENREGISTREMENT;
+        }
+
+        @Override
+        public void agrandir(int capacite) {
+            ByteBuffer nouveau = allouer(capacite);
+            ByteBuffer ancien = tampon.duplicate();
+            ancien.clear();
+            nouveau.put(ancien);
+            nouveau.clear();
+            tampon = nouveau;
+        }
+
+        @Override
+        public int processus(int cadre) {
+            return tampon.getInt(cadre * TAILLE_ENREGISTREMENT + PROCESSUS);
+        }
+
+        @Override
+        public int page(int cadre) {
+            return tampon.getInt(cadre * TAILLE_ENREGISTREMENT + PAGE);
+        }
+
+        @Override
+        public long dernierAcces(int cadre) {
+            return tampon.getLong(cadre * TAILLE_ENREGISTREMENT + DERNIER_ACCES);
+        }
+
+        @Override
+        public void definirDernierAcces(int cadre, long temps) {
+            tampon.putLong(cadre * TAILLE_ENREGISTREMENT + DERNIER_ACCES, temps);
+        }
+
+        @Override
+        protected int etat(int cadre) {
+            return tampon.getInt(cadre * TAILLE_ENREGISTREMENT + ETAT);
+        }
+
+        @Override
+        protected void definirEtat(int cadre, int etat) {
+            tampon.putInt(cadre * TAILLE_ENREGISTREMENT + ETAT, etat);
+        }
+
+        @Override
+        protected void definirPage(int cadre, int processus, int page) {
+            int position = cadre * TAILLE_ENREGISTREMENT;
+            tampon.putInt(position + PROCESSUS, processus);
+            tampon.putInt(position + PAGE, page);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package fr.ul.miashs;
+
+import java.util.Arrays;
+
+// Tas binaire max indexé utilisé par l'algorithme OPTIMAL (Belady) :
+// chaque cadre occupé y figure avec l'instant de la prochaine utilisation de sa page.
+// Le sommet est le cadre dont la page sera réutilisée le plus tard (ou jamais).
+// Insertion, mise à jour de priorité et lecture du sommet en O(log n), sans allocation.
+class TasProchainUsage {
+    private static final int HORS_TAS = -1;
+
+    private final int[] tas;          // Cadres rangés selon l'ordre du tas
+    private final int[] placeDansTas; // Cadre -> indice dans le tas (HORS_TAS si absent)
+    private final long[] priorites;   // Cadre -> prochaine utilisation
+    private int taille;
+
+    public TasProchainUsage(int nombreCadres) {
+        this.tas = new int[nombreCadres];
+        this.placeDansTas = new int[nombreCadres];
+        this.priorites = new long[nombreCadres];
+        Arrays.fill(placeDansTas, HORS_TAS);
+    }
+
+    // Insérer le cadre ou mettre à jour la prochaine utilisation de sa page
+    public void mettreAJour(int cadre, long prochainUsage) {
+        int place = placeDansTas[cadre];
+        if (place == HORS_TAS) {
+            priorites[cadre] = prochainUsage;
+            tas[taille] = cadre;
+            placeDansTas[cadre] = taille;
+            monter(taille++);
+            return;
+        }
+        long ancienne = priorites[cadre];
+        priorites[cadre] = prochainUsage;
+        if (prochainUsage > ancienne) {
+            monter(place);
+        } else if (prochainUsage < ancienne) {
+            descendre(place);
+        }
+    }
+
+    // Cadre dont la page a la prochaine utilisation la plus lointaine (-1 si le tas est vide)
+    public int sommet() {
+        return taille > 0 ? tas[0] : -1;
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    private void monter(int i) {
+        int cadre = tas[i];
+        long priorite = priorites[cadre];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int cadreParent = tas[parent];
+            if (priorites[cadreParent] >= priorite) break;
+            tas[i] = cadreParent;
+            placeDansTas[cadreParent] = i;
+            i = parent;
+        }
+        tas[i] = cadre;
+        placeDansTas[cadre] = i;
+    }
+
+    private void descendre(int i) {
+        int cadre = tas[i];
+        long priorite = priorites[cadre];
+        while (true) {
+            int enfant = 2 * i + 1;
+            if (enfant >= taille) break;
+            if (enfant + 1 < taille && priorites[tas[enfant + 1]] > priorites[tas[enfant]]) {
+                enfant++;
+            }
+            int cadreEnfant = tas[enfant];
+            if (priorites[cadreEnfant] <= priorite) break;
+            tas[i] = cadreEnfant;
+            placeDansTas[cadreEnfant] = i;
+            i = enfant;
+        }
+        tas[i] = cadre;
+        placeDansTas[cadre] = i;
+    }
+}
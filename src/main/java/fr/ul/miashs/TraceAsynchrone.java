@@ -0,0 +1,216 @@
+package fr.ul.miashs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Trace écrite par un fil d'exécution dédié, pour que la mise en forme et les entrées-sorties
+// ne ralentissent pas la boucle de simulation.
+// Les éléments sont rangés dans des lots de tableaux primitifs ; un lot plein est transmis au fil
+// d'écriture par une file bornée. Si l'écriture prend du retard, la file se remplit et la simulation
+// attend qu'un lot soit libéré (contre-pression) : la mémoire utilisée reste bornée.
+// Les lots écrits reviennent au simulateur pour être réutilisés. Une erreur du fil d'écriture est
+// signalée au simulateur à sa prochaine transmission ; s'il attend un lot, il vérifie régulièrement
+// que le fil d'écriture est toujours là, pour ne jamais attendre un fil arrêté.
+final class TraceAsynchrone implements SortieTrace {
+    private static final int TAILLE_LOT = 4096;
+    private static final int NOMBRE_LOTS = 8;
+    private static final long ATTENTE_MS = 100; // entre deux vérifications du fil d'écriture
+
+    private static final int EXECUTION = 0, INACTIVITE = 1, DEFAUT_LECTURE = 2, DEFAUT_ECRITURE = 3, ECRITURE_DISQUE = 4;
+
+    // Lot d'éléments de trace, rangés par colonnes
+    private static final class Lot {
+        final byte[] nature = new byte[TAILLE_LOT];
+        final int[] processeur = new int[TAILLE_LOT];
+        final int[] debut = new int[TAILLE_LOT];
+        final int[] fin = new int[TAILLE_LOT];
+        final int[] valeur = new int[TAILLE_LOT];   // page ou piste
+        final int[] numero = new int[TAILLE_LOT];
+        final String[] processus = new String[TAILLE_LOT];
+        int taille;
+        boolean dernier; // marque la fermeture de la trace
+    }
+
+    private final SortieTrace cible;
+    private final BlockingQueue<Lot> pleins = new ArrayBlockingQueue<>(NOMBRE_LOTS);
+    private final BlockingQueue<Lot> libres = new ArrayBlockingQueue<>(NOMBRE_LOTS);
+    private final Thread ecrivain;
+    private volatile Throwable erreur;
+    private volatile boolean ecrivainArrete;
+    private boolean erreurSignalee; // l'erreur n'est levée qu'une fois, y compris par close
+    private Lot courant;
+
+    TraceAsynchrone(SortieTrace cible) {
+        this.cible = cible;
+        for (int i = 0; i < NOMBRE_LOTS - 1; i++) {
+            libres.add(new Lot());
+        }
+        this.courant = new Lot();
+        this.ecrivain = new Thread(this::ecrire, "trace");
+        this.ecrivain.setDaemon(true);
+        this.ecrivain.start();
+    }
+
+    @Override
+    public void execution(int processeur, int debut, int fin, int numero, String processus) {
+        ajouter(EXECUTION, processeur, debut, fin, -1, numero, processus);
+    }
+
+    @Override
+    public void inactivite(int processeur, int debut, int fin) {
+        ajouter(INACTIVITE, processeur, debut, fin, -1, -1, null);
+    }
+
+    @Override
+    public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+        ajouter(ecriture ? DEFAUT_ECRITURE : DEFAUT_LECTURE, processeur, temps, temps, page, numero, processus);
+    }
+
+    @Override
+    public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+        ajouter(ECRITURE_DISQUE, processeur, temps, temps + duree, piste, numero, processus);
+    }
+
+    // Transmettre le dernier lot, attendre la fin de l'écriture puis fermer la destination.
+    // La destination est fermée même après une erreur d'écriture, signalée ensuite si elle ne l'a pas été.
+    @Override
+    public void close() {
+        try {
+            if (erreur == null) {
+                courant.dernier = true;
+                transmettre();
+            } else {
+                // Le fil d'écriture ne fait plus que consommer les lots (ou s'est arrêté)
+                ecrivain.interrupt();
+            }
+        } catch (RuntimeException | Error e) {
+            // Le dernier lot n'est pas parti : le fil d'écriture n'a plus rien d'utile à attendre
+            ecrivain.interrupt();
+            throw e;
+        } finally {
+            try {
+                ecrivain.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cible.close();
+            }
+        }
+        if (!erreurSignalee) {
+            verifier();
+        }
+    }
+
+    private void ajouter(int nature, int processeur, int debut, int fin, int valeur, int numero, String processus) {
+        Lot lot = courant;
+        int i = lot.taille++;
+        lot.nature[i] = (byte) nature;
+        lot.processeur[i] = processeur;
+        lot.debut[i] = debut;
+        lot.fin[i] = fin;
+        lot.valeur[i] = valeur;
+        lot.numero[i] = numero;
+        lot.processus[i] = processus;
+        if (lot.taille == TAILLE_LOT) {
+            transmettre();
+            try {
+                Lot libre;
+                while ((libre = libres.poll(ATTENTE_MS, TimeUnit.MILLISECONDS)) == null) {
+                    verifierEcrivain();
+                }
+                courant = libre;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Trace interrompue", e);
+            }
+        }
+    }
+
+    private void transmettre() {
+        verifier();
+        try {
+            while (!pleins.offer(courant, ATTENTE_MS, TimeUnit.MILLISECONDS)) {
+                verifierEcrivain();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trace interrompue", e);
+        }
+    }
+
+    // Une erreur d'écriture survenue dans le fil d'écriture est signalée au simulateur
+    private void verifier() {
+        Throwable e = erreur;
+        if (e != null) {
+            erreurSignalee = true;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+    }
+
+    // Le simulateur attend un lot : le fil d'écriture doit être encore là pour le lui rendre
+    private void verifierEcrivain() {
+        verifier();
+        if (ecrivainArrete) {
+            throw new IllegalStateException("Le fil d'écriture de la trace s'est arrêté");
+        }
+    }
+
+    // Boucle du fil d'écriture
+    private void ecrire() {
+        try {
+            while (true) {
+                Lot lot = pleins.take();
+                if (erreur == null) {
+                    try {
+                        vider(lot);
+                    } catch (RuntimeException e) {
+                        // On continue à consommer les lots pour ne pas bloquer le simulateur
+                        erreur = e;
+                    } catch (Error e) {
+                        // Le fil s'arrête ; le simulateur le verra à sa prochaine transmission ou attente
+                        erreur = e;
+                        return;
+                    }
+                }
+                if (lot.dernier) {
+                    return;
+                }
+                lot.taille = 0;
+                libres.put(lot);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ecrivainArrete = true;
+        }
+    }
+
+    private void vider(Lot lot) {
+        for (int i = 0; i < lot.taille; i++) {
+            switch (lot.nature[i]) {
+                case EXECUTION:
+                    cible.execution(lot.processeur[i], lot.debut[i], lot.fin[i], lot.numero[i], lot.processus[i]);
+                    break;
+                case INACTIVITE:
+                    cible.inactivite(lot.processeur[i], lot.debut[i], lot.fin[i]);
+                    break;
+                case DEFAUT_LECTURE:
+                case DEFAUT_ECRITURE:
+                    cible.defautPage(lot.processeur[i], lot.debut[i], lot.valeur[i], lot.nature[i] == DEFAUT_ECRITURE,
+                            lot.numero[i], lot.processus[i]);
+                    break;
+                case ECRITURE_DISQUE:
+                    cible.ecritureDisque(lot.processeur[i], lot.debut[i], lot.valeur[i], lot.fin[i] - lot.debut[i],
+                            lot.numero[i], lot.processus[i]);
+                    break;
+            }
+            lot.processus[i] = null;
+        }
+    }
+}
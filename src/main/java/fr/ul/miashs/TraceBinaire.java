@@ -0,0 +1,137 @@
+package fr.ul.miashs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Trace binaire : un enregistrement de taille fixe par élément, écrit par blocs dans un FileChannel.
+// Disposition du fichier (petit-boutiste) :
+//   en-tête de TAILLE_EN_TETE octets : signature, version, taille d'enregistrement,
+//       nombre d'enregistrements (long), position de la table des noms (long) ;
+//   enregistrements de TAILLE_ENREGISTREMENT octets :
+//       temps (int), durée (int), numéro de processus (int, -1 si aucun), page ou piste (int, -1 si aucune),
+//       nature (octet), octet inutilisé, processeur (short, -1 si un seul processeur) ;
+//   table des noms : nombre de noms (int) puis, par numéro de processus, longueur (short) et octets UTF-8.
+// L'en-tête et la table des noms sont écrits à la fermeture. Voir LecteurTraceBinaire pour la relecture.
+final class TraceBinaire implements SortieTrace {
+    static final int SIGNATURE = 0x4A415345; // "JASE"
+    static final int VERSION = 1;
+    static final int TAILLE_EN_TETE = 32;
+    static final int TAILLE_ENREGISTREMENT = 20;
+
+    static final int TEMPS = 0, DUREE = 4, PROCESSUS = 8, VALEUR = 12, NATURE = 16, PROCESSEUR = 18;
+
+    static final byte EXECUTION = 0, INACTIVITE = 1, DEFAUT_LECTURE = 2, DEFAUT_ECRITURE = 3, ECRITURE_DISQUE = 4;
+
+    private static final int TAILLE_TAMPON = 4096 * TAILLE_ENREGISTREMENT;
+
+    private final FileChannel canal;
+    private final ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+    private final List<String> noms = new ArrayList<>(); // Numéro de processus -> identifiant
+    private long nombreEnregistrements;
+
+    TraceBinaire(Path fichier) throws IOException {
+        this.canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        canal.position(TAILLE_EN_TETE);
+    }
+
+    @Override
+    public void execution(int processeur, int debut, int fin, int numero, String processus) {
+        ecrire(EXECUTION, processeur, debut, fin - debut, numero, -1, processus);
+    }
+
+    @Override
+    public void inactivite(int processeur, int debut, int fin) {
+        ecrire(INACTIVITE, processeur, debut, fin - debut, -1, -1, null);
+    }
+
+    @Override
+    public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+        ecrire(ecriture ? DEFAUT_ECRITURE : DEFAUT_LECTURE, processeur, temps, 0, numero, page, processus);
+    }
+
+    @Override
+    public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+        ecrire(ECRITURE_DISQUE, processeur, temps, duree, numero, piste, processus);
+    }
+
+    @Override
+    public void close() {
+        try {
+            vider();
+            // Table des noms à la suite des enregistrements
+            long positionNoms = canal.position();
+            ByteBuffer table = ByteBuffer.allocate(tailleTableNoms()).order(ByteOrder.LITTLE_ENDIAN);
+            table.putInt(noms.size());
+            for (String nom : noms) {
+                byte[] octets = (nom != null ? nom : "").getBytes(StandardCharsets.UTF_8);
+                table.putShort((short) octets.length).put(octets);
+            }
+            table.flip();
+            ecrireTout(table);
+
+            ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+            enTete.putInt(SIGNATURE).putInt(VERSION).putInt(TAILLE_ENREGISTREMENT)
+                    .putLong(nombreEnregistrements).putLong(positionNoms);
+            enTete.clear();
+            canal.position(0);
+            ecrireTout(enTete);
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ecrire(byte nature, int processeur, int temps, int duree, int numero, int valeur, String processus) {
+        if (numero >= 0) {
+            nommer(numero, processus);
+        }
+        if (tampon.remaining() < TAILLE_ENREGISTREMENT) {
+            vider();
+        }
+        tampon.putInt(temps).putInt(duree).putInt(numero).putInt(valeur)
+                .put(nature).put((byte) 0).putShort((short) processeur);
+        nombreEnregistrements++;
+    }
+
+    private void nommer(int numero, String processus) {
+        while (noms.size() <= numero) {
+            noms.add(null);
+        }
+        if (noms.get(numero) == null) {
+            noms.set(numero, processus);
+        }
+    }
+
+    private int tailleTableNoms() {
+        int taille = Integer.BYTES;
+        for (String nom : noms) {
+            taille += Short.BYTES + (nom != null ? nom.getBytes(StandardCharsets.UTF_8).length : 0);
+        }
+        return taille;
+    }
+
+    private void vider() {
+        tampon.flip();
+        try {
+            ecrireTout(tampon);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        tampon.clear();
+    }
+
+    private void ecrireTout(ByteBuffer contenu) throws IOException {
+        while (contenu.hasRemaining()) {
+            canal.write(contenu);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package fr.ul.miashs;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Tri externe d'un fichier de programmes par temps d'arrivée, pour les fichiers trop gros pour la mémoire.
+// Le fichier est découpé en blocs de lignes triés en mémoire et écrits dans des fichiers temporaires,
+// puis les blocs sont fusionnés avec une file à priorité. Le tri est stable : à temps d'arrivée égal,
+// les processus gardent l'ordre du fichier d'origine. Les lignes vides et les commentaires sont écartés.
+final class TriProgrammes {
+
+    private TriProgrammes() {
+    }
+
+    // Le fichier est-il déjà trié par temps d'arrivée ? (lecture séquentielle, sans rien conserver)
+    static boolean estTrie(Path fichier) throws IOException {
+        try (BufferedReader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            int precedent = Integer.MIN_VALUE;
+            int numeroLigne = 0;
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                int arrivee = arrivee(ligne, ++numeroLigne);
+                if (arrivee == LecteurProgrammes.LIGNE_IGNOREE) continue;
+                if (arrivee < precedent) return false;
+                precedent = arrivee;
+            }
+            return true;
+        }
+    }
+
+    // Trier le fichier dans un fichier temporaire (à supprimer par l'appelant) ;
+    // au plus tailleBloc lignes sont en mémoire à la fois pendant le découpage
+    static Path trier(Path fichier, int tailleBloc) throws IOException {
+        List<Path> blocs = new ArrayList<>();
+        try {
+            try (BufferedReader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+                List<Ligne> bloc = new ArrayList<>(tailleBloc);
+                int numeroLigne = 0;
+                String texte;
+                while ((texte = lecteur.readLine()) != null) {
+                    int arrivee = arrivee(texte, ++numeroLigne);
+                    if (arrivee == LecteurProgrammes.LIGNE_IGNOREE) continue;
+                    bloc.add(new Ligne(arrivee, texte));
+                    if (bloc.size() == tailleBloc) {
+                        blocs.add(ecrireBloc(bloc));
+                        bloc.clear();
+                    }
+                }
+                if (!bloc.isEmpty() || blocs.isEmpty()) {
+                    blocs.add(ecrireBloc(bloc));
+                }
+            }
+            return fusionner(blocs);
+        } finally {
+            for (Path bloc : blocs) {
+                Files.deleteIfExists(bloc);
+            }
+        }
+    }
+
+    private static int arrivee(String ligne, int numeroLigne) throws IOException {
+        try {
+            return LecteurProgrammes.tempsArrivee(ligne);
+        } catch (NumberFormatException e) {
+            throw new IOException("ligne " + numeroLigne + " : temps d'arrivée invalide (" + e.getMessage() + ")", e);
+        }
+    }
+
+    // Ligne du fichier et sa clé de tri
+    private static final class Ligne {
+        final int arrivee;
+        final String texte;
+        Ligne(int arrivee, String texte) {
+            this.arrivee = arrivee;
+            this.texte = texte;
+        }
+    }
+
+    // Bloc trié en mémoire (tri stable) puis écrit dans un fichier temporaire
+    private static Path ecrireBloc(List<Ligne> bloc) throws IOException {
+        bloc.sort(Comparator.comparingInt(l -> l.arrivee));
+        Path fichier = Files.createTempFile("programmes-bloc", ".txt");
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            for (Ligne ligne : bloc) {
+                ecrivain.write(ligne.texte);
+                ecrivain.newLine();
+            }
+        }
+        return fichier;
+    }
+
+    // Tête d'un bloc pendant la fusion
+    private static final class Curseur {
+        final int bloc;
+        final BufferedReader lecteur;
+        Ligne ligne;
+        Curseur(int bloc, BufferedReader lecteur) {
+            this.bloc = bloc;
+            this.lecteur = lecteur;
+        }
+        boolean avancer() throws IOException {
+            String texte = lecteur.readLine();
+            ligne = texte == null ? null : new Ligne(LecteurProgrammes.tempsArrivee(texte), texte);
+            return ligne != null;
+        }
+    }
+
+    // Fusion des blocs : à temps égal, le bloc de plus petit rang (le plus tôt dans le fichier) d'abord
+    private static Path fusionner(List<Path> blocs) throws IOException {
+        Path resultat = Files.createTempFile("programmes-tries", ".txt");
+        PriorityQueue<Curseur> file = new PriorityQueue<>(
+                Comparator.<Curseur>comparingInt(c -> c.ligne.arrivee).thenComparingInt(c -> c.bloc));
+        List<Curseur> curseurs = new ArrayList<>();
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(resultat, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < blocs.size(); i++) {
+                Curseur curseur = new Curseur(i, Files.newBufferedReader(blocs.get(i), StandardCharsets.UTF_8));
+                curseurs.add(curseur);
+                if (curseur.avancer()) {
+                    file.add(curseur);
+                }
+            }
+            while (!file.isEmpty()) {
+                Curseur curseur = file.poll();
+                ecrivain.write(curseur.ligne.texte);
+                ecrivain.newLine();
+                if (curseur.avancer()) {
+                    file.add(curseur);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(resultat);
+            throw e;
+        } finally {
+            for (Curseur curseur : curseurs) {
+                curseur.lecteur.close();
+            }
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,58 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+class AnalyseurPilesTest {
+    private static final int CADRES_MAX = 12;
+
+    // Références aléatoires avec localité (quelques pages « chaudes ») pour plusieurs processus
+    private static AnalyseurPiles suiteAleatoire(int nombreProcessus, long graine) {
+        SplittableRandom aleatoire = new SplittableRandom(graine);
+        AnalyseurPiles analyseur = new AnalyseurPiles();
+        for (int i = 0; i < 3000; i++) {
+            int page = aleatoire.nextInt(4) == 0 ? aleatoire.nextInt(40) : aleatoire.nextInt(6);
+            analyseur.enregistrer(aleatoire.nextInt(nombreProcessus), page, aleatoire.nextInt(5) == 0, i, i / 50);
+        }
+        return analyseur;
+    }
+
+    @Test
+    void testPileLRUEgaleAuRejeu() {
+        for (boolean locale : new boolean[] {true, false}) {
+            AnalyseurPiles analyseur = suiteAleatoire(3, 1);
+            assertArrayEquals(analyseur.defautsRejeu("LRU", locale, CADRES_MAX, 200),
+                    analyseur.defautsLRU(locale, CADRES_MAX));
+        }
+    }
+
+    @Test
+    void testPileOptimaleEgaleAuRejeu() {
+        AnalyseurPiles analyseur = suiteAleatoire(3, 2);
+        long[] optimal = analyseur.defautsOptimal(true, CADRES_MAX);
+        assertArrayEquals(analyseur.defautsRejeu("OPTIMAL", true, CADRES_MAX, 200), optimal);
+        long[] lru = analyseur.defautsLRU(true, CADRES_MAX);
+        for (int k = 1; k <= CADRES_MAX; k++) {
+            assertTrue(optimal[k] <= lru[k]);
+            assertTrue(optimal[k] <= optimal[k - 1]);
+        }
+    }
+
+    @Test
+    void testAnomalieDeBeladyAvecFIFO() {
+        AnalyseurPiles analyseur = new AnalyseurPiles();
+        int[] pages = {1, 2, 3, 4, 1, 2, 5, 1, 2, 3, 4, 5};
+        for (int i = 0; i < pages.length; i++) {
+            analyseur.enregistrer(0, pages[i], false, i, 0);
+        }
+        long[] fifo = analyseur.defautsRejeu("FIFO", true, 4, 200);
+        assertEquals(9, fifo[3]);
+        assertEquals(10, fifo[4]);
+        // Les algorithmes à pile n'ont pas d'anomalie
+        long[] lru = analyseur.defautsLRU(true, 4);
+        assertTrue(lru[4] <= lru[3]);
+        assertEquals(7, analyseur.defautsOptimal(true, 4)[3]);
+    }
+}
@@ -0,0 +1,59 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class BalayageParametresTest {
+
+    @Test
+    void testCombinaisons() {
+        BalayageParametres grille = new BalayageParametres();
+        grille.ajouter("pagination-algorithme", "FIFO", "LRU", "ARC");
+        grille.ajouter("pagination-nombre-cadres-locale", "2", "4");
+        assertEquals(6, grille.nombreCombinaisons());
+        assertArrayEquals(new String[] {"FIFO", "2"}, grille.combinaison(0));
+        assertArrayEquals(new String[] {"FIFO", "4"}, grille.combinaison(1));
+        assertArrayEquals(new String[] {"ARC", "4"}, grille.combinaison(5));
+        assertEquals("pagination-algorithme,pagination-nombre-cadres-locale,"
+                + String.join(",", BalayageParametres.COLONNES_RESULTATS), grille.enTeteCsv());
+    }
+
+    @Test
+    void testSimulationsIsoleesEnParallele(@TempDir Path dossier) throws IOException {
+        Path config = dossier.resolve("config.txt");
+        Files.write(config, String.join("\n",
+                "temps-simulation=20000", "interruption-horloge=50", "temps-écriture-disque=100",
+                "temps-charge-page=50", "processus-ordonnancement=RR", "processus-quantum=100",
+                "disque-ordonnancement=SSF", "programmes-source=generateur",
+                "generateur-processus=100").getBytes(StandardCharsets.UTF_8));
+        BalayageParametres grille = new BalayageParametres();
+        grille.ajouter("pagination-algorithme", "FIFO", "LRU", "OPTIMAL", "WSCLOCK");
+        grille.ajouter("pagination-nombre-cadres-locale", "2", "4", "8");
+
+        // Le même balayage, séquentiel puis sur plusieurs threads, donne exactement les mêmes lignes
+        ForkJoinPool unThread = new ForkJoinPool(1);
+        ForkJoinPool plusieurs = new ForkJoinPool(4);
+        try {
+            List<String> sequentiel = grille.executer(config.toString(), null, unThread);
+            List<String> parallele = grille.executer(config.toString(), null, plusieurs);
+            assertEquals(12, sequentiel.size());
+            assertEquals(sequentiel, parallele);
+            assertTrue(sequentiel.get(0).startsWith("FIFO,2,"));
+            // Plus de cadres, pas plus de défauts de page pour LRU (algorithme à pile)
+            int defauts2 = Integer.parseInt(sequentiel.get(3).split(",")[6]);
+            int defauts8 = Integer.parseInt(sequentiel.get(5).split(",")[6]);
+            assertTrue(defauts8 <= defauts2);
+        } finally {
+            unThread.shutdown();
+            plusieurs.shutdown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+import fr.ul.miashs.Ordonnanceur.TypeEvenement;
+
+class GenerateurChargeTest {
+
+    private static GenerateurCharge.Parametres parametres(String... cles) {
+        GenerateurCharge.Parametres parametres = new GenerateurCharge.Parametres();
+        parametres.nombreProcessus = 200;
+        for (int i = 0; i < cles.length; i += 2) {
+            parametres.definir(cles[i], cles[i + 1]);
+        }
+        return parametres;
+    }
+
+    private static String texte(GenerateurCharge.Parametres parametres) throws IOException {
+        StringWriter sortie = new StringWriter();
+        try (GenerateurCharge generateur = new GenerateurCharge(parametres)) {
+            Processus processus;
+            while ((processus = generateur.suivant()) != null) {
+                GenerateurCharge.ecrire(processus, sortie);
+            }
+        }
+        return sortie.toString();
+    }
+
+    @Test
+    void testMemeGraineMemeCharge() throws IOException {
+        String a = texte(parametres("generateur-pages", "zipf", "generateur-pistes", "locale"));
+        String b = texte(parametres("generateur-pages", "zipf", "generateur-pistes", "locale"));
+        String c = texte(parametres("generateur-pages", "zipf", "generateur-pistes", "locale", "generateur-graine", "7"));
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void testTexteRelisibleEtTrie() throws IOException {
+        for (String arrivees : new String[] {"poisson", "rafales"}) {
+            String texte = texte(parametres("generateur-arrivees", arrivees, "generateur-pages", "boucle"));
+            LecteurProgrammes lecteur = new LecteurProgrammes(new StringReader(texte));
+            int nombre = 0;
+            Processus processus;
+            while ((processus = lecteur.suivant()) != null) {
+                nombre++;
+                assertEquals(Integer.toString(nombre), processus.id);
+                int dernier = processus.nombreEvenements() - 1;
+                assertEquals(TypeEvenement.FIN, processus.evenement(dernier).type);
+                for (int i = 0; i < dernier; i++) {
+                    Ordonnanceur.Evenement e = processus.evenement(i);
+                    if (e.type == TypeEvenement.LECTURE) assertTrue(e.valeur >= 0 && e.valeur < 64);
+                    if (e.type == TypeEvenement.ECRITURE) assertTrue(e.valeur >= 0 && e.valeur < 200);
+                }
+            }
+            assertEquals(200, nombre);
+        }
+    }
+
+    @Test
+    void testMotifsDePages() {
+        // Sequentiel : pages consécutives ; boucle : fenêtre de 3 pages répétée 2 fois
+        GenerateurCharge.Parametres parametres = parametres("generateur-pages", "boucle",
+                "generateur-fenetre-boucle", "3", "generateur-repetitions-boucle", "2",
+                "generateur-proportion-calcul", "0", "generateur-proportion-ecriture", "0",
+                "generateur-proportion-dormir", "0", "generateur-instructions", "50");
+        GenerateurCharge generateur = new GenerateurCharge(parametres);
+        Processus processus = generateur.suivant();
+        int[] pages = processus.referencesPages();
+        for (int k = 0; k < pages.length; k++) {
+            assertEquals((pages[0] + (k / 6) * 3 + k % 3) % 64, pages[k]);
+        }
+
+        parametres.pages = "sequentiel";
+        pages = new GenerateurCharge(parametres).suivant().referencesPages();
+        assertTrue(pages.length > 1);
+        for (int k = 1; k < pages.length; k++) {
+            assertEquals((pages[k - 1] + 1) % 64, pages[k]);
+        }
+    }
+
+    @Test
+    void testLoiInconnue() {
+        // Une loi mal orthographiée n'est pas remplacée en silence par la loi par défaut
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new GenerateurCharge(parametres("generateur-pages", "zipff")));
+        assertTrue(e.getMessage().contains("generateur-pages"), e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> new GenerateurCharge(parametres("generateur-duree-calcul", "normale")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GenerateurCharge(parametres("generateur-arrivees", "rafale")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GenerateurCharge(parametres("generateur-pistes", "sequentiel")));
+        new GenerateurCharge(parametres("generateur-pages", "ZIPF", "generateur-duree-dormir", "Constante"));
+    }
+
+    @Test
+    void testRafalesSimultanees() {
+        GenerateurCharge generateur = new GenerateurCharge(parametres("generateur-arrivees", "rafales",
+                "generateur-taille-rafale", "5"));
+        for (int rafale = 0; rafale < 10; rafale++) {
+            int arrivee = generateur.suivant().tempsArrivee;
+            for (int i = 1; i < 5; i++) {
+                assertEquals(arrivee, generateur.suivant().tempsArrivee);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class GestionDisqueTest {
+
+    // SSF par recherche linéaire du premier minimum, tel qu'il était écrit à l'origine
+    private static int[] ordreSsfLineaire(List<Integer> requetes, int position) {
+        List<Integer> aTraiter = new ArrayList<>(requetes);
+        int[] ordre = new int[requetes.size()];
+        for (int i = 0; i < ordre.length; i++) {
+            final int p = position;
+            int prochain = aTraiter.stream().min(Comparator.comparingInt(r -> Math.abs(r - p))).orElse(p);
+            ordre[i] = prochain;
+            position = prochain;
+            aTraiter.remove(Integer.valueOf(prochain));
+        }
+        return ordre;
+    }
+
+    @Test
+    void testSsfExemple() {
+        GestionDisque disque = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67), 53, "droite");
+        assertArrayEquals(new int[] {65, 67, 37, 14, 98, 122, 124, 183}, disque.ordreSsf());
+        assertEquals(236, disque.ssf().deplacementTotal);
+    }
+
+    @Test
+    void testResultatsScanEtCscan() {
+        GestionDisque disque = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67), 53, "droite");
+        ResultatDisque scan = disque.scan();
+        assertArrayEquals(new int[] {53, 65, 67, 98, 122, 124, 183, 199, 37, 14, 0}, scan.sequence);
+        assertArrayEquals(new int[] {65, 67, 98, 122, 124, 183, 37, 14}, scan.ordre);
+        // Le détour par la borne 199 est compté pour la première requête servie au retour ;
+        // la descente finale jusqu'à la borne 0 ne sert aucune requête
+        assertArrayEquals(new int[] {12, 2, 31, 24, 2, 59, 178, 23}, scan.deplacements);
+        assertEquals(345, scan.deplacementTotal);
+
+        ResultatDisque cscan = disque.cscan();
+        assertArrayEquals(new int[] {53, 65, 67, 98, 122, 124, 183, 199, 0, 0, 14, 37}, cscan.sequence);
+        assertEquals(382, cscan.deplacementTotal);
+        assertEquals(16 + 199 + 14, cscan.deplacements[6]);
+        assertEquals("CSCAN", disque.executer("cscan").algorithme);
+        assertThrows(IllegalArgumentException.class, () -> disque.executer("inconnu"));
+    }
+
+    @Test
+    void testSsfEgalitesCommeLaRechercheLineaire() {
+        // Beaucoup de doublons et d'égalités de distance de part et d'autre du bras
+        SplittableRandom aleatoire = new SplittableRandom(3);
+        for (int essai = 0; essai < 200; essai++) {
+            List<Integer> requetes = new ArrayList<>();
+            int n = aleatoire.nextInt(60);
+            for (int i = 0; i < n; i++) {
+                requetes.add(2 * aleatoire.nextInt(20));
+            }
+            int position = aleatoire.nextInt(40);
+            GestionDisque disque = new GestionDisque(requetes, position, "droite");
+            assertArrayEquals(ordreSsfLineaire(requetes, position), disque.ordreSsf(), requetes + " depuis " + position);
+        }
+    }
+
+    @Test
+    void testLookEtClook() {
+        GestionDisque disque = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67), 53, "droite");
+        ResultatDisque look = disque.executer("look");
+        assertArrayEquals(new int[] {65, 67, 98, 122, 124, 183, 37, 14}, look.ordre);
+        assertEquals((183 - 53) + (183 - 14), look.deplacementTotal);
+        ResultatDisque clook = disque.executer("c-look");
+        assertArrayEquals(new int[] {65, 67, 98, 122, 124, 183, 14, 37}, clook.ordre);
+        assertEquals((183 - 53) + (183 - 14) + (37 - 14), clook.deplacementTotal);
+
+        GestionDisque gauche = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67, 53), 53, "gauche");
+        assertArrayEquals(new int[] {53, 37, 14, 65, 67, 98, 122, 124, 183}, gauche.look().ordre);
+    }
+
+    @Test
+    void testNstepEtDeadline() {
+        GestionDisque disque = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67), 53, "droite");
+        disque.definirLot(3);
+        // Lots [98, 183, 37], [122, 14, 124], [65, 67] balayés tour à tour, demi-tour aux bords
+        ResultatDisque nstep = disque.nstep();
+        assertArrayEquals(new int[] {98, 183, 37, 14, 122, 124, 67, 65}, nstep.ordre);
+        assertEquals(146 + 162 + 37 + 124 + 75 + 134, nstep.deplacementTotal);
+        // FSCAN : un seul lot
+        assertArrayEquals(new int[] {65, 67, 98, 122, 124, 183, 37, 14}, disque.fscan().ordre);
+
+        // Lots de 2, échéance de 4 services : 183 puis 37 passent avant leur tour
+        disque.definirLot(2);
+        disque.definirEcheance(4);
+        ResultatDisque deadline = disque.deadline();
+        assertArrayEquals(new int[] {65, 67, 98, 122, 183, 14, 37, 124}, deadline.ordre);
+        assertEquals(12 + 2 + 31 + 24 + 61 + 169 + 23 + 87, deadline.deplacementTotal);
+        // Échéance jamais atteinte : C-LOOK
+        disque.definirEcheance(Integer.MAX_VALUE);
+        assertArrayEquals(disque.clook().ordre, disque.deadline().ordre);
+    }
+
+    @Test
+    void testGeometrieConfigurable() {
+        GestionDisque disque = new GestionDisque(Arrays.asList(98, 183, 37, 122, 14, 124, 65, 67), 53, "droite", 1000);
+        ResultatDisque scan = disque.scan();
+        assertEquals(999, scan.sequence[7]);
+        assertEquals((999 - 53) + 999, scan.deplacementTotal);
+        assertEquals((999 - 53) + 999 + 37, disque.cscan().deplacementTotal);
+        assertThrows(IllegalArgumentException.class,
+                () -> new GestionDisque(Arrays.asList(10, 200), 0, "droite", 200));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GestionDisque(Arrays.asList(10), 0, "droite").definirLot(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GestionDisque(Arrays.asList(10), 0, "droite").definirEcheance(0));
+    }
+}
@@ -76,6 +76,24 @@ public class GestionMemoireTest {
         
         // Un seul défaut de page doit être compté
         assertEquals(1, gestionMemoireLocale.getDefautsDePage());
+        assertEquals(3, gestionMemoireLocale.getNombreAcces());
+        assertEquals(2.0 / 3.0, gestionMemoireLocale.getTauxSucces(), 1e-9);
+    }
+
+    @Test
+    void testIndexApresRemplacement() {
+        // Chaîne de références 1,2,3,4,1,5,1 en FIFO avec 4 cadres :
+        // la page 1 est évincée par la page 5 puis redemandée
+        int[] references = {1, 2, 3, 4, 1, 5, 1};
+        for (int page : references) {
+            assertTrue(gestionMemoireLocale.accederPage("P1", page));
+        }
+        assertEquals(6, gestionMemoireLocale.getDefautsDePage());
+
+        // Les pages encore résidentes ne provoquent plus de défaut
+        assertTrue(gestionMemoireLocale.accederPage("P1", 5));
+        assertTrue(gestionMemoireLocale.accederPage("P1", 1));
+        assertEquals(6, gestionMemoireLocale.getDefautsDePage());
     }
 
     @Test
@@ -103,6 +121,35 @@ public class GestionMemoireTest {
         assertEquals(5, gestionMemoire.getDefautsDePage());
     }
 
+    @Test
+    void testNRUApresInterruptionHorloge() {
+        GestionMemoire gestionMemoire = new GestionMemoire(
+            NOMBRE_CADRES_TOTAL,
+            NOMBRE_CADRES_LOCAL,
+            true,
+            "NRU",
+            TEMPS_CHARGE_PAGE
+        );
+
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(gestionMemoire.accederPage("P1", i));
+        }
+        // Page 3 modifiée, puis l'interruption d'horloge remet tous les bits R à 0
+        assertTrue(gestionMemoire.accederPage("P1", 3, true));
+        gestionMemoire.interruptionHorloge();
+        assertTrue(gestionMemoire.accederPage("P1", 1));
+
+        // Classes : page 1 -> 2, page 2 -> 0, page 3 -> 1, page 4 -> 0 : la page 2 est évincée
+        assertTrue(gestionMemoire.accederPage("P1", 5));
+        assertEquals(5, gestionMemoire.getDefautsDePage());
+        gestionMemoire.accederPage("P1", 1);
+        gestionMemoire.accederPage("P1", 3);
+        gestionMemoire.accederPage("P1", 4);
+        assertEquals(5, gestionMemoire.getDefautsDePage());
+        gestionMemoire.accederPage("P1", 2);
+        assertEquals(6, gestionMemoire.getDefautsDePage());
+    }
+
     @Test
     void testAlgorithmeSecondeChance() {
         GestionMemoire gestionMemoire = new GestionMemoire(
@@ -148,6 +195,170 @@ public class GestionMemoireTest {
         assertEquals(5, gestionMemoire.getDefautsDePage());
     }
 
+    @Test
+    void testAlgorithmeOptimalAvecReferences() {
+        // Chaîne de référence classique : 9 défauts avec 3 cadres pour l'algorithme de Belady
+        int[] references = {7, 0, 1, 2, 0, 3, 0, 4, 2, 3, 0, 3, 2, 1, 2, 0, 1, 7, 0, 1};
+        GestionMemoire gestionMemoire = new GestionMemoire(
+            NOMBRE_CADRES_TOTAL,
+            3,
+            true,
+            "OPTIMAL",
+            TEMPS_CHARGE_PAGE
+        );
+        gestionMemoire.definirReferences("P1", references);
+
+        for (int page : references) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        assertEquals(9, gestionMemoire.getDefautsDePage());
+    }
+
+    @Test
+    void testAlgorithmeLRU() {
+        // Même chaîne de référence : 12 défauts avec 3 cadres pour LRU
+        int[] references = {7, 0, 1, 2, 0, 3, 0, 4, 2, 3, 0, 3, 2, 1, 2, 0, 1, 7, 0, 1};
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, 3, true, "LRU", TEMPS_CHARGE_PAGE);
+
+        for (int page : references) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        assertEquals(12, gestionMemoire.getDefautsDePage());
+    }
+
+    @Test
+    void testAlgorithmeLFU() {
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, 3, true, "LFU", TEMPS_CHARGE_PAGE);
+
+        // Fréquences : page 1 -> 3, page 2 -> 2, page 3 -> 1
+        int[] references = {1, 1, 1, 2, 2, 3};
+        for (int page : references) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        // La page 4 évince la page 3, puis la page 3 évince la page 4 (seules de fréquence 1)
+        assertTrue(gestionMemoire.accederPage("P1", 4));
+        assertTrue(gestionMemoire.accederPage("P1", 3));
+        assertEquals(5, gestionMemoire.getDefautsDePage());
+        assertTrue(gestionMemoire.accederPage("P1", 1));
+        assertTrue(gestionMemoire.accederPage("P1", 2));
+        assertEquals(5, gestionMemoire.getDefautsDePage());
+    }
+
+    @Test
+    void testAlgorithmeARCResisteAuBalayage() {
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, 4, true, "ARC", TEMPS_CHARGE_PAGE);
+
+        // Pages 1 et 2 utilisées deux fois : elles passent dans la liste des pages fréquentes
+        int[] references = {1, 1, 2, 2};
+        for (int page : references) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        // Un balayage de pages vues une seule fois ne les évince pas
+        for (int page = 10; page < 20; page++) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        assertEquals(12, gestionMemoire.getDefautsDePage());
+        assertTrue(gestionMemoire.accederPage("P1", 1));
+        assertTrue(gestionMemoire.accederPage("P1", 2));
+        assertEquals(12, gestionMemoire.getDefautsDePage());
+    }
+
+    @Test
+    void testAlgorithmeWSClock() {
+        HorlogeSimulee horloge = new HorlogeSimulee();
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, 3, true, "WSCLOCK", TEMPS_CHARGE_PAGE, horloge);
+        gestionMemoire.definirFenetreTravail(100);
+
+        for (int page = 1; page <= 3; page++) {
+            assertTrue(gestionMemoire.accederPage("P1", page));
+        }
+        gestionMemoire.interruptionHorloge();
+        horloge.regler(150);
+        assertTrue(gestionMemoire.accederPage("P1", 1));
+
+        // À t=160 : la page 1 est dans l'ensemble de travail, la page 2 en est sortie et est évincée
+        horloge.regler(160);
+        assertTrue(gestionMemoire.accederPage("P1", 4));
+        assertTrue(gestionMemoire.accederPage("P1", 1));
+        assertTrue(gestionMemoire.accederPage("P1", 3));
+        assertEquals(4, gestionMemoire.getDefautsDePage());
+        assertTrue(gestionMemoire.accederPage("P1", 2));
+        assertEquals(5, gestionMemoire.getDefautsDePage());
+    }
+
+    @Test
+    void testEcrituresPagesModifiees() {
+        // WSClock : la page 1, modifiée et hors de l'ensemble de travail, est écrite sur disque
+        // au premier passage de l'aiguille, puis évincée sans nouvelle écriture au passage suivant
+        HorlogeSimulee horloge = new HorlogeSimulee();
+        GestionMemoire wsclock = new GestionMemoire(NOMBRE_CADRES_TOTAL, 3, true, "WSCLOCK", TEMPS_CHARGE_PAGE, horloge);
+        wsclock.definirFenetreTravail(100);
+        assertTrue(wsclock.accederPage("P1", 1, true));
+        assertTrue(wsclock.accederPage("P1", 2, false));
+        assertTrue(wsclock.accederPage("P1", 3, false));
+        wsclock.interruptionHorloge();
+        horloge.regler(150);
+        assertTrue(wsclock.accederPage("P1", 4, false));
+        assertEquals(1, wsclock.getPagesEcrites());
+        assertTrue(wsclock.estPresente(wsclock.enregistrerProcessus("P1"), 1));
+        assertTrue(wsclock.accederPage("P1", 5, false));
+        assertTrue(wsclock.accederPage("P1", 6, false));
+        assertFalse(wsclock.estPresente(wsclock.enregistrerProcessus("P1"), 1));
+        assertEquals(1, wsclock.getPagesEcrites());
+
+        // FIFO : seule l'éviction d'une page modifiée donne lieu à une écriture
+        assertTrue(gestionMemoireLocale.accederPage("P1", 1, true));
+        for (int page = 2; page <= NOMBRE_CADRES_LOCAL + 2; page++) {
+            assertTrue(gestionMemoireLocale.accederPage("P1", page, false));
+        }
+        assertEquals(1, gestionMemoireLocale.getPagesEcrites());
+        assertTrue(gestionMemoireLocale.getTraceMemoire().contains("Pages modifiées écrites sur disque: 1"));
+    }
+
+    @Test
+    void testTableCadresDirecte() {
+        // La table hors tas doit donner exactement les mêmes résultats que la table en tableaux
+        GestionMemoire tas = new GestionMemoire(3, NOMBRE_CADRES_LOCAL, false, "SECONDE_CHANCE",
+            TEMPS_CHARGE_PAGE, new HorlogeSimulee(), false);
+        GestionMemoire directe = new GestionMemoire(3, NOMBRE_CADRES_LOCAL, false, "SECONDE_CHANCE",
+            TEMPS_CHARGE_PAGE, new HorlogeSimulee(), true);
+        int[] references = {1, 2, 3, 1, 4, 2, 5, 1, 3, 4, 5, 2};
+        for (int i = 0; i < references.length; i++) {
+            String processus = (i % 2 == 0) ? "P1" : "P2";
+            assertTrue(tas.accederPage(processus, references[i], i % 3 == 0));
+            assertTrue(directe.accederPage(processus, references[i], i % 3 == 0));
+        }
+        assertEquals(tas.getDefautsDePage(), directe.getDefautsDePage());
+        assertEquals(tas.getTraceMemoire(), directe.getTraceMemoire());
+    }
+
+    @Test
+    void testCroissanceTableLocale() {
+        // Plus de processus que la capacité initiale de la table : les zones locales sont ajoutées au fil de l'eau
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, NOMBRE_CADRES_LOCAL, true, "LRU",
+            TEMPS_CHARGE_PAGE, new HorlogeSimulee(), true);
+        for (int p = 0; p < 40; p++) {
+            for (int page = 0; page < NOMBRE_CADRES_LOCAL; page++) {
+                assertTrue(gestionMemoire.accederPage("P" + p, page));
+            }
+        }
+        for (int p = 0; p < 40; p++) {
+            assertTrue(gestionMemoire.accederPage("P" + p, 0));
+        }
+        assertEquals(40 * NOMBRE_CADRES_LOCAL, gestionMemoire.getDefautsDePage());
+        assertTrue(gestionMemoire.getTraceMemoire().contains("Processus P39"));
+    }
+
+    @Test
+    void testEstPresente() {
+        int p1 = gestionMemoireLocale.enregistrerProcessus("P1");
+        assertFalse(gestionMemoireLocale.estPresente(p1, 1));
+        gestionMemoireLocale.accederPage(p1, 1, false);
+        assertTrue(gestionMemoireLocale.estPresente(p1, 1));
+        // La consultation ne compte pas comme un accès
+        assertEquals(1, gestionMemoireLocale.getNombreAcces());
+    }
+
     @Test
     void testLimitesCadres() {
         // Test avec un processus qui tente d'utiliser plus que sa limite locale
@@ -173,4 +384,59 @@ public class GestionMemoireTest {
         assertTrue(trace.contains("Processus P1"));
         assertTrue(trace.contains("Processus P2"));
     }
-} 
\ No newline at end of file
+
+    // Flux de processus courts (deux vivants à la fois) : l'occupation ne dépend pas du nombre de processus
+    private static void executerFluxCourt(GestionMemoire gestionMemoire, int nombreProcessus) {
+        int precedent = gestionMemoire.enregistrerProcessus("P0");
+        for (int i = 1; i < nombreProcessus; i++) {
+            int numero = gestionMemoire.enregistrerProcessus("P" + i);
+            for (int page = 0; page < 6; page++) {
+                gestionMemoire.accederPage(numero, page, page % 2 == 0);
+            }
+            gestionMemoire.libererProcessus(precedent);
+            precedent = numero;
+        }
+        gestionMemoire.libererProcessus(precedent);
+    }
+
+    @Test
+    void testLibererProcessusAllocationLocale() {
+        GestionMemoire gestionMemoire = new GestionMemoire(NOMBRE_CADRES_TOTAL, NOMBRE_CADRES_LOCAL, true, "LRU", TEMPS_CHARGE_PAGE);
+        executerFluxCourt(gestionMemoire, 100);
+        int cadres = gestionMemoire.cadresAttribues();
+        int numeros = gestionMemoire.nombreNumeros();
+        executerFluxCourt(gestionMemoire, 10_000);
+
+        // Les zones et les numéros des processus terminés sont repris
+        assertEquals(cadres, gestionMemoire.cadresAttribues());
+        assertEquals(numeros, gestionMemoire.nombreNumeros());
+        assertTrue(gestionMemoire.cadresAttribues() <= 2 * NOMBRE_CADRES_LOCAL);
+        assertTrue(gestionMemoire.pagesIndexees() <= 2 * NOMBRE_CADRES_LOCAL);
+    }
+
+    @Test
+    void testLibererProcessusAllocationGlobale() {
+        executerFluxCourt(gestionMemoireGlobale, 10_000);
+
+        // Les pages des processus terminés restent dans les cadres jusqu'à leur remplacement :
+        // au plus un numéro par cadre en plus des processus vivants
+        assertTrue(gestionMemoireGlobale.nombreNumeros() <= NOMBRE_CADRES_TOTAL + 2);
+        assertTrue(gestionMemoireGlobale.pagesIndexees() <= NOMBRE_CADRES_TOTAL);
+    }
+
+    @Test
+    void testZoneRepriseVide() {
+        int p1 = gestionMemoireLocale.enregistrerProcessus("P1");
+        gestionMemoireLocale.accederPage(p1, 1, false);
+        gestionMemoireLocale.accederPage(p1, 2, false);
+        gestionMemoireLocale.libererProcessus(p1);
+
+        // Le processus suivant reprend la zone, sans les pages du processus terminé
+        int p2 = gestionMemoireLocale.enregistrerProcessus("P2");
+        assertFalse(gestionMemoireLocale.estPresente(p2, 1));
+        gestionMemoireLocale.accederPage(p2, 1, false);
+        assertEquals(3, gestionMemoireLocale.getDefautsDePage());
+        assertEquals(NOMBRE_CADRES_LOCAL, gestionMemoireLocale.cadresAttribues());
+        assertEquals(1, gestionMemoireLocale.pagesIndexees());
+    }
+}
@@ -0,0 +1,50 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+class JournalDisqueTest {
+
+    private static final ListeEntiers REQUETES = ListeEntiers.de(98, 183, 37);
+
+    private static void ecrire(Path fichier, boolean compression) throws IOException {
+        GestionDisque disque = new GestionDisque(REQUETES, 53, "droite", 200);
+        try (JournalDisque journal = new JournalDisque(fichier, compression)) {
+            journal.requetes(REQUETES);
+            journal.resultat(disque.fifo());
+            journal.resultat(disque.ssf());
+        }
+    }
+
+    private static final String ATTENDU = "Requêtes traitées (3) : [98, 183, 37]\n"
+            + JournalDisque.SEPARATEUR
+            + "FIFO - Déplacement total : 276 pistes\n"
+            + "SSF - Déplacement total : 162 pistes\n"
+            + JournalDisque.SEPARATEUR;
+
+    @Test
+    void testRequetesUneFoisPuisResumes(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("log_disque.txt");
+        ecrire(fichier, false);
+        ecrire(fichier, false); // une deuxième exécution s'ajoute à la suite
+        assertEquals(ATTENDU + ATTENDU, Files.readString(fichier, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testJournalCompresse(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("log_disque.txt.gz");
+        ecrire(fichier, true);
+        ecrire(fichier, true);
+        try (InputStream entree = new GZIPInputStream(Files.newInputStream(fichier))) {
+            assertEquals(ATTENDU + ATTENDU, new String(entree.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
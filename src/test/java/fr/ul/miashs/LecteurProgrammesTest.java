@@ -0,0 +1,124 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+import fr.ul.miashs.Ordonnanceur.TypeEvenement;
+
+class LecteurProgrammesTest {
+
+    private static List<Processus> lireTout(SourceProcessus source) throws IOException {
+        List<Processus> processus = new ArrayList<>();
+        try (source) {
+            Processus p;
+            while ((p = source.suivant()) != null) {
+                processus.add(p);
+            }
+        }
+        return processus;
+    }
+
+    private static LecteurProgrammes lecteur(String contenu) {
+        return new LecteurProgrammes(new BufferedReader(new StringReader(contenu)));
+    }
+
+    @Test
+    void testLectureAuFilDeLEau() throws IOException {
+        List<Processus> processus = lireTout(lecteur(
+                "# commentaire\n"
+                + "1/0/5/{CALCUL(200), DORMIR(100), FIN(0)}\n"
+                + "\n"
+                + "  2 / 100 /4/{ calcul( 150 ),ECRITURE(10) , FIN}\r\n"));
+        assertEquals(2, processus.size());
+        Processus p2 = processus.get(1);
+        assertEquals("2", p2.id);
+        assertEquals(100, p2.tempsArrivee);
+        assertEquals(4, p2.priorite);
+        assertEquals(TypeEvenement.ECRITURE, p2.evenement(1).type);
+        assertEquals(10, p2.evenement(1).valeur);
+    }
+
+    @Test
+    void testLigneMalFormeeSignalee() {
+        assertErreur("1/0/5/{CALCUL(200), FIN(0)}\n1/0/5/{CALCUL(2x0), FIN(0)}\n", "ligne 2, colonne 16");
+        assertErreur("1/0/5/{CALCUL(200), ATTENDRE(3)}\n", "ligne 1, colonne 21 : événement inconnu");
+        assertErreur("1/0/{CALCUL(200)}\n", "ligne 1, colonne 5 : nombre attendu");
+        assertErreur("1/0/5/{CALCUL(200)\n", "ligne 1, colonne 19 : '}' attendu");
+        assertErreur("1/99999999999/5/{FIN}\n", "ligne 1, colonne 3 : nombre trop grand");
+        assertErreur("1/0/5/{DORMIR(300000000)}\n", "ligne 1, colonne 15 : valeur hors limites");
+    }
+
+    private static void assertErreur(String contenu, String message) {
+        IOException e = assertThrows(IOException.class, () -> lireTout(lecteur(contenu)));
+        assertTrue(e.getMessage().startsWith(message), e.getMessage());
+    }
+
+    @Test
+    void testLignesLonguesEtTamponPartage() throws IOException {
+        // Des lignes plus longues que le tampon de lecture et que le tableau de ligne initial
+        StringBuilder contenu = new StringBuilder();
+        for (int p = 0; p < 3; p++) {
+            contenu.append("P").append(p).append('/').append(p).append("/0/{");
+            for (int i = 0; i < 10_000; i++) {
+                contenu.append("LECTURE(").append(i).append("),");
+            }
+            contenu.append("FIN(0)}\n");
+        }
+        List<Processus> processus = lireTout(lecteur(contenu.toString()));
+        assertEquals(3, processus.size());
+        for (Processus p : processus) {
+            assertEquals(10_001, p.nombreEvenements());
+            assertEquals(9_999, p.evenement(9_999).valeur);
+        }
+    }
+
+    @Test
+    void testFichierNonTrieSignale() {
+        LecteurProgrammes lecteur = lecteur("1/100/0/{FIN(0)}\n2/50/0/{FIN(0)}\n");
+        IOException e = assertThrows(IOException.class, () -> lireTout(lecteur));
+        assertTrue(e.getMessage().contains("ligne 2"));
+    }
+
+    @Test
+    void testTriExterne(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("programmes.txt");
+        StringBuilder contenu = new StringBuilder("# non trié\n");
+        // Temps d'arrivée 0, 300, 200, ..., avec des égalités qui doivent garder l'ordre du fichier
+        for (int i = 0; i < 50; i++) {
+            contenu.append("P").append(i).append('/').append((i * 7) % 10 * 100).append("/0/{FIN(0)}\n");
+        }
+        Files.write(fichier, contenu.toString().getBytes(StandardCharsets.UTF_8));
+        assertFalse(TriProgrammes.estTrie(fichier));
+
+        // Blocs de 4 lignes : beaucoup de blocs à fusionner
+        Path trie = TriProgrammes.trier(fichier, 4);
+        try {
+            assertTrue(TriProgrammes.estTrie(trie));
+            List<Processus> processus = lireTout(new LecteurProgrammes(Files.newBufferedReader(trie, StandardCharsets.UTF_8)));
+            assertEquals(50, processus.size());
+            for (int i = 1; i < processus.size(); i++) {
+                Processus precedent = processus.get(i - 1);
+                Processus courant = processus.get(i);
+                assertTrue(precedent.tempsArrivee <= courant.tempsArrivee);
+                if (precedent.tempsArrivee == courant.tempsArrivee) {
+                    int a = Integer.parseInt(precedent.id.substring(1));
+                    int b = Integer.parseInt(courant.id.substring(1));
+                    assertTrue(a < b, "tri non stable : " + precedent.id + " avant " + courant.id);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(trie);
+        }
+    }
+}
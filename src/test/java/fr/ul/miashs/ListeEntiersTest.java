@@ -0,0 +1,33 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListeEntiersTest {
+
+    @Test
+    void testAjoutAuDelaDeLaCapacite() {
+        ListeEntiers liste = new ListeEntiers(1);
+        assertTrue(liste.estVide());
+        for (int i = 0; i < 1000; i++) {
+            liste.ajouter(i * 3);
+        }
+        assertEquals(1000, liste.taille());
+        assertEquals(0, liste.get(0));
+        assertEquals(2997, liste.get(999));
+        int[] tableau = liste.versTableau();
+        assertEquals(1000, tableau.length);
+        tableau[0] = -1; // copie : la liste n'est pas modifiée
+        assertEquals(0, liste.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> liste.get(1000));
+    }
+
+    @Test
+    void testDeEtTexte() {
+        int[] valeurs = {98, 183, 37};
+        ListeEntiers liste = ListeEntiers.de(valeurs);
+        valeurs[0] = 0;
+        assertEquals("[98, 183, 37]", liste.toString());
+        assertEquals("[]", new ListeEntiers().toString());
+    }
+}
@@ -0,0 +1,233 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class OrdonnanceurTest {
+
+    // Configuration de base : tick de 10 ms, sans coût mémoire ni disque
+    private static Configuration configuration(String strategie, int nombreProcesseurs) {
+        Configuration configuration = new Configuration();
+        configuration.tempsSimulation = 100_000;
+        configuration.interruptionHorloge = 10;
+        configuration.strategieOrdonnancement = strategie;
+        configuration.quantum = 100;
+        configuration.nombreProcesseurs = nombreProcesseurs;
+        return configuration;
+    }
+
+    private static ResultatSimulation simuler(Configuration configuration, String programmes) throws IOException {
+        return simuler(configuration, programmes, new SortieTrace.Aucune());
+    }
+
+    private static ResultatSimulation simuler(Configuration configuration, String programmes, SortieTrace trace)
+            throws IOException {
+        return new Ordonnanceur().simuler(configuration, new LecteurProgrammes(new StringReader(programmes)), trace);
+    }
+
+    // Fin du dernier segment d'exécution de chaque processus, dans l'ordre où les processus terminent,
+    // et numéro sous lequel chaque processus apparaît dans les écritures disque de la trace
+    private static final class FinsProcessus implements SortieTrace {
+        final Map<String, Integer> fins = new LinkedHashMap<>();
+        final Map<String, Integer> numerosEcritures = new LinkedHashMap<>();
+
+        @Override
+        public void execution(int processeur, int debut, int fin, int numero, String processus) {
+            fins.remove(processus);
+            fins.put(processus, fin);
+        }
+
+        @Override
+        public void inactivite(int processeur, int debut, int fin) {
+        }
+
+        @Override
+        public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+        }
+
+        @Override
+        public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+            numerosEcritures.put(processus, numero);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void testUtilisationParProcesseur() throws IOException {
+        // Deux processus de calcul arrivés ensemble : un par processeur
+        ResultatSimulation resultat = simuler(configuration("FIFO", 2),
+                "A/0/0/{CALCUL(200), FIN}\n"
+                + "B/0/0/{CALCUL(300), FIN}\n");
+
+        assertEquals(2, resultat.nombreTermines);
+        assertArrayEquals(new long[] {200, 300}, resultat.tempsOccupe);
+        assertEquals(500, resultat.sommeDureesRotation);
+        assertEquals(0, resultat.sommeTempsReponse);
+        assertEquals(25.0, resultat.utilisationMoyenne(1000), 1e-9);
+        assertEquals(0, resultat.nombreVols);
+    }
+
+    @Test
+    void testVolDeTravail() throws IOException {
+        // A et C sont placés sur le processeur 0, B sur le processeur 1 : B se termine tôt
+        // et le processeur 1, sans processus prêt, prend C dans la file du processeur 0
+        String programmes = "A/0/0/{CALCUL(500), FIN}\n"
+                + "B/0/0/{CALCUL(100), FIN}\n"
+                + "C/0/0/{CALCUL(100), FIN}\n";
+
+        ResultatSimulation avecVol = simuler(configuration("FIFO", 2), programmes);
+        assertEquals(3, avecVol.nombreTermines);
+        assertTrue(avecVol.nombreVols > 0);
+        assertArrayEquals(new long[] {500, 200}, avecVol.tempsOccupe);
+        assertEquals(500 + 100 + 200, avecVol.sommeDureesRotation);
+
+        Configuration sansVol = configuration("FIFO", 2);
+        sansVol.volTravail = false;
+        ResultatSimulation resultat = simuler(sansVol, programmes);
+        assertEquals(3, resultat.nombreTermines);
+        assertEquals(0, resultat.nombreVols);
+        assertArrayEquals(new long[] {600, 100}, resultat.tempsOccupe);
+        assertEquals(500 + 100 + 600, resultat.sommeDureesRotation);
+    }
+
+    @Test
+    void testSimulationDeterministe() throws IOException {
+        // Même configuration et même graine : mêmes mesures et même trace, à l'événement près
+        Configuration configuration = configuration("RR", 4);
+        configuration.tempsChargePage = 50;
+        configuration.tempsEcritureDisque = 100;
+        configuration.generateur.nombreProcessus = 200;
+        String[] traces = new String[2];
+        ResultatSimulation[] resultats = new ResultatSimulation[2];
+        for (int i = 0; i < 2; i++) {
+            StringWriter trace = new StringWriter();
+            try (SortieTrace sortie = new SortieTrace.Texte(trace, false)) {
+                resultats[i] = new Ordonnanceur().simuler(configuration,
+                        new GenerateurCharge(configuration.generateur), sortie);
+            }
+            traces[i] = trace.toString();
+        }
+
+        assertTrue(resultats[0].nombreTermines > 0);
+        assertTrue(resultats[0].nombreVols > 0);
+        assertEquals(resultats[0].nombreTermines, resultats[1].nombreTermines);
+        assertEquals(resultats[0].sommeDureesRotation, resultats[1].sommeDureesRotation);
+        assertEquals(resultats[0].sommeTempsReponse, resultats[1].sommeTempsReponse);
+        assertEquals(resultats[0].nombreEvenements, resultats[1].nombreEvenements);
+        assertEquals(resultats[0].nombreVols, resultats[1].nombreVols);
+        assertArrayEquals(resultats[0].tempsOccupe, resultats[1].tempsOccupe);
+        assertEquals(resultats[0].memoire.getDefautsDePage(), resultats[1].memoire.getDefautsDePage());
+        assertEquals(resultats[0].pistesDisque.toString(), resultats[1].pistesDisque.toString());
+        assertEquals(traces[0], traces[1]);
+    }
+
+    @Test
+    void testTourniquet() throws IOException {
+        // A épuise son quantum à 100 et repasse derrière B et C
+        FinsProcessus trace = new FinsProcessus();
+        ResultatSimulation resultat = simuler(configuration("RR", 1),
+                "A/0/0/{CALCUL(250), FIN}\n"
+                + "B/0/0/{CALCUL(100), FIN}\n"
+                + "C/50/0/{CALCUL(50), FIN}\n", trace);
+
+        assertEquals(List.of("B", "C", "A"), List.copyOf(trace.fins.keySet()));
+        assertEquals(Map.of("A", 400, "B", 200, "C", 250), trace.fins);
+        assertEquals(3, resultat.nombreTermines);
+        // Rotations : A 400, B 200, C 200
+        assertEquals(800, resultat.sommeDureesRotation);
+    }
+
+    @Test
+    void testPlusCourtTempsRestant() throws IOException {
+        // B puis C, plus courts que ce qui reste à A, le préemptent au tick qui suit leur arrivée
+        FinsProcessus trace = new FinsProcessus();
+        ResultatSimulation resultat = simuler(configuration("SRTF", 1),
+                "A/0/0/{CALCUL(300), FIN}\n"
+                + "B/50/0/{CALCUL(100), FIN}\n"
+                + "C/60/0/{CALCUL(20), FIN}\n", trace);
+
+        assertEquals(List.of("C", "B", "A"), List.copyOf(trace.fins.keySet()));
+        assertEquals(Map.of("A", 420, "B", 170, "C", 80), trace.fins);
+        assertEquals(3, resultat.nombreTermines);
+        // Rotations : A 420, B 120, C 20
+        assertEquals(560, resultat.sommeDureesRotation);
+    }
+
+    @Test
+    void testPrioriteAvecVieillissement() throws IOException {
+        // L (priorité 4) attend derrière H (priorité 1) ; à 310, vieillie de 3 niveaux, sa clé
+        // passe sous celle de H en cours (1 * 100 + 310) : L préempte H et termine à 320
+        String programmes = "H/0/1/{CALCUL(1000), FIN}\n"
+                + "L/0/4/{CALCUL(10), FIN}\n";
+        Configuration configuration = configuration("PRIORITE", 1);
+        configuration.vieillissement = 100;
+        FinsProcessus trace = new FinsProcessus();
+        ResultatSimulation resultat = simuler(configuration, programmes, trace);
+
+        assertEquals(List.of("L", "H"), List.copyOf(trace.fins.keySet()));
+        assertEquals(Map.of("H", 1010, "L", 320), trace.fins);
+        assertEquals(2, resultat.nombreTermines);
+        // Rotations : H 1010, L 320
+        assertEquals(1330, resultat.sommeDureesRotation);
+
+        // Sans vieillissement, L attend la fin de H
+        configuration.vieillissement = 0;
+        trace = new FinsProcessus();
+        resultat = simuler(configuration, programmes, trace);
+        assertEquals(List.of("H", "L"), List.copyOf(trace.fins.keySet()));
+        assertEquals(Map.of("H", 1000, "L", 1010), trace.fins);
+        // Rotations : H 1000, L 1010
+        assertEquals(2010, resultat.sommeDureesRotation);
+    }
+
+    @Test
+    void testEcritureEtLongueInactivite() {
+        // Une écriture disque, puis 4800 ms sans aucun processus : la simulation doit se terminer
+        // (elle bouclait sur ECRITURE) et les mesures rester exactes
+        Configuration configuration = configuration("FIFO", 1);
+        configuration.tempsEcritureDisque = 100;
+        configuration.tempsChargePage = 50;
+        ResultatSimulation resultat = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> simuler(configuration,
+                "A/0/0/{CALCUL(50), ECRITURE(20), CALCUL(50), FIN}\n"
+                + "B/5000/0/{LECTURE(3), CALCUL(10), FIN}\n"));
+
+        assertEquals(2, resultat.nombreTermines);
+        // Rotations : A 50 + 50 (chargement de la page 20) + 100 (écriture) + 50 = 250,
+        // B 50 (chargement de la page 3) + 10 = 60
+        assertEquals(310, resultat.sommeDureesRotation);
+        assertEquals(0, resultat.sommeTempsReponse);
+        assertEquals("[20]", resultat.pistesDisque.toString());
+        assertEquals(2, resultat.memoire.getDefautsDePage());
+        assertArrayEquals(new long[] {110}, resultat.tempsOccupe);
+        // Les ticks s'arrêtent avec la dernière activité : guère plus d'un événement par tick
+        assertTrue(resultat.nombreEvenements < 600, "événements : " + resultat.nombreEvenements);
+    }
+
+    @Test
+    void testDisqueEnLigneNumeroDeTrace() throws IOException {
+        // Un seul processus vivant à la fois : la gestion mémoire réutilise le même numéro,
+        // la trace des écritures disque doit garder le rang d'arrivée de chacun
+        Configuration configuration = configuration("FIFO", 1);
+        configuration.disqueEnLigne = true;
+        configuration.tempsEcritureDisque = 10;
+        FinsProcessus trace = new FinsProcessus();
+        ResultatSimulation resultat = simuler(configuration,
+                "A/0/0/{ECRITURE(5), FIN}\n"
+                + "B/1000/0/{ECRITURE(50), FIN}\n"
+                + "C/2000/0/{ECRITURE(150), FIN}\n", trace);
+
+        assertEquals(3, resultat.nombreTermines);
+        assertEquals(Map.of("A", 0, "B", 1, "C", 2), trace.numerosEcritures);
+    }
+}
@@ -0,0 +1,123 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import fr.ul.miashs.Ordonnanceur.Processus;
+
+class PeripheriqueDisqueTest {
+
+    private static final int[] REQUETES = {98, 183, 37, 122, 14, 124, 65, 67};
+
+    // Toutes les requêtes soumises à l'instant 0, puis servies une à une ; renvoie l'ordre des pistes
+    private static int[] servir(PeripheriqueDisque disque, int[] pistes) {
+        for (int piste : pistes) {
+            disque.soumettre(new Processus("P" + piste, 0, 0, new int[0]), piste, -1, 0);
+        }
+        int[] ordre = new int[pistes.length];
+        int temps = 0;
+        for (int i = 0; i < pistes.length; i++) {
+            PeripheriqueDisque.Requete requete = disque.demarrer(temps);
+            temps += requete.duree;
+            ordre[i] = disque.terminer(temps).piste;
+        }
+        return ordre;
+    }
+
+    @Test
+    void testOrdreCommeLeCalculHorsLigne() {
+        GestionDisque horsLigne = new GestionDisque(ListeEntiers.de(REQUETES), 53, "droite", 200);
+        for (String algorithme : new String[] {"FIFO", "SSF", "SCAN", "CSCAN"}) {
+            PeripheriqueDisque disque = new PeripheriqueDisque(algorithme, 53, "droite", 200, 0.1, 10);
+            assertArrayEquals(horsLigne.executer(algorithme).ordre, servir(disque, REQUETES), algorithme);
+            assertEquals(REQUETES.length, disque.nombreServies());
+        }
+    }
+
+    @Test
+    void testDureeDeServiceEtDeplacement() {
+        // SSF depuis 53 : 65, 67, 37, 14, 98, 122, 124, 183 (236 pistes)
+        PeripheriqueDisque disque = new PeripheriqueDisque("ssf", 53, "droite", 200, 0.5, 10);
+        disque.soumettre(new Processus("A", 0, 0, new int[0]), 65, -1, 0);
+        PeripheriqueDisque.Requete requete = disque.demarrer(0);
+        assertEquals(Math.round(12 * 0.5) + 10, requete.duree);
+        assertTrue(disque.occupe());
+        assertNull(disque.demarrer(0)); // une seule requête à la fois
+        disque.terminer(requete.duree);
+        assertFalse(disque.occupe());
+
+        disque = new PeripheriqueDisque("ssf", 53, "droite", 200, 0.5, 10);
+        servir(disque, REQUETES);
+        assertEquals(236, disque.deplacementTotal());
+    }
+
+    @Test
+    void testScanEtCscanEnLigne() {
+        // SCAN vers la gauche depuis 50 : 40, puis demi-tour au bord 0 vers 60 (10 + 40 + 60)
+        PeripheriqueDisque scan = new PeripheriqueDisque("scan", 50, "gauche", 200, 1, 0);
+        assertArrayEquals(new int[] {40, 60}, servir(scan, new int[] {60, 40}));
+        assertEquals(110, scan.deplacementTotal());
+
+        // CSCAN depuis 50 : 60, jusqu'à 199, retour à 0 (199) puis 40
+        PeripheriqueDisque cscan = new PeripheriqueDisque("cscan", 50, "droite", 200, 1, 0);
+        assertArrayEquals(new int[] {60, 40}, servir(cscan, new int[] {40, 60}));
+        assertEquals(10 + 139 + 199 + 40, cscan.deplacementTotal());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PeripheriqueDisque("inconnu", 0, "droite", 200, 1, 0));
+        Configuration configuration = new Configuration();
+        configuration.disqueEcheance = 0;
+        assertThrows(IllegalArgumentException.class, () -> PeripheriqueDisque.creer(configuration));
+    }
+
+    @Test
+    void testSsfEnLigneEgalitesParAnciennete() {
+        // Requêtes soumises ensemble : même ordre que le calcul hors ligne, égalités comprises
+        SplittableRandom aleatoire = new SplittableRandom(7);
+        for (int essai = 0; essai < 200; essai++) {
+            int[] pistes = aleatoire.ints(1 + aleatoire.nextInt(30), 0, 40).toArray();
+            int bras = aleatoire.nextInt(40);
+            GestionDisque horsLigne = new GestionDisque(ListeEntiers.de(pistes), bras, "droite", 200);
+            PeripheriqueDisque disque = new PeripheriqueDisque("SSF", bras, "droite", 200, 1, 0);
+            assertArrayEquals(horsLigne.ordreSsf(), servir(disque, pistes));
+        }
+    }
+
+    @Test
+    void testRapportProfondeurEtLatences() {
+        // Transfert de 10 ms, sans déplacement : latences 10, 20, 30, 40
+        PeripheriqueDisque disque = new PeripheriqueDisque("FIFO", 5, "droite", 200, 1, 10);
+        servir(disque, new int[] {5, 5, 5, 5});
+        String rapport = disque.rapport(40);
+        assertTrue(rapport.contains("4 requêtes servies"), rapport);
+        assertTrue(rapport.contains("profondeur maximale = 4"), rapport);
+        assertTrue(rapport.contains("p50 = 20 ms, p90 = 40 ms, p99 = 40 ms, max = 40 ms"), rapport);
+    }
+
+    @Test
+    void testNouvellesPolitiquesCommeLeCalculHorsLigne() {
+        // Requêtes soumises ensemble : même ordre et même déplacement que GestionDisque
+        SplittableRandom aleatoire = new SplittableRandom(11);
+        for (String algorithme : new String[] {"LOOK", "CLOOK", "NSTEP", "FSCAN", "DEADLINE"}) {
+            for (int essai = 0; essai < 100; essai++) {
+                Configuration configuration = new Configuration();
+                configuration.disqueOrdonnancement = algorithme;
+                configuration.disqueNombrePistes = 50;
+                configuration.positionInitiale = aleatoire.nextInt(50);
+                configuration.directionInitiale = aleatoire.nextBoolean() ? "droite" : "gauche";
+                configuration.disqueLot = 1 + aleatoire.nextInt(5);
+                configuration.disqueEcheance = 1 + aleatoire.nextInt(10);
+                int[] pistes = aleatoire.ints(1 + aleatoire.nextInt(30), 0, 50).toArray();
+
+                GestionDisque horsLigne = GestionDisque.creer(ListeEntiers.de(pistes), configuration);
+                ResultatDisque attendu = horsLigne.executer(algorithme);
+                PeripheriqueDisque disque = PeripheriqueDisque.creer(configuration);
+                assertArrayEquals(attendu.ordre, servir(disque, pistes), algorithme);
+                assertEquals(attendu.deplacementTotal, disque.deplacementTotal(), algorithme);
+            }
+        }
+    }
+}
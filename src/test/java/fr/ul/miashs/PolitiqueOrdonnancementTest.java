@@ -0,0 +1,95 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import fr.ul.miashs.Ordonnanceur.Evenement;
+import fr.ul.miashs.Ordonnanceur.Processus;
+import fr.ul.miashs.Ordonnanceur.TypeEvenement;
+
+class PolitiqueOrdonnancementTest {
+
+    private static Processus processus(String id, int priorite, int calcul) {
+        return new Processus(id, 0, priorite, List.of(
+                new Evenement(TypeEvenement.CALCUL, calcul),
+                new Evenement(TypeEvenement.FIN, 0)));
+    }
+
+    private static PolitiqueOrdonnancement politique(String strategie) {
+        Configuration configuration = new Configuration();
+        configuration.definir("processus-ordonnancement", strategie);
+        configuration.definir("processus-quantum", "100");
+        configuration.definir("processus-vieillissement", "100");
+        return PolitiqueOrdonnancement.creer(configuration);
+    }
+
+    @Test
+    void testStrategieInconnue() {
+        assertNull(politique("LOTERIE"));
+    }
+
+    @Test
+    void testTourniquetSansQuantum() {
+        Configuration configuration = new Configuration();
+        configuration.definir("processus-ordonnancement", "RR");
+        assertThrows(IllegalArgumentException.class, () -> PolitiqueOrdonnancement.creer(configuration));
+    }
+
+    @Test
+    void testTourniquet() {
+        PolitiqueOrdonnancement rr = politique("RR");
+        assertEquals(100, rr.quantum());
+        Processus p1 = processus("P1", 0, 300);
+        Processus p2 = processus("P2", 0, 50);
+        rr.ajouter(p1, 0);
+        rr.ajouter(p2, 0);
+        assertSame(p1, rr.retirer());
+        assertFalse(rr.doitPreempter(p1, 10));
+        assertSame(p2, rr.retirer());
+        assertTrue(rr.estVide());
+    }
+
+    @Test
+    void testSRTF() {
+        PolitiqueOrdonnancement srtf = politique("SRTF");
+        Processus long1 = processus("P1", 0, 300);
+        Processus court = processus("P2", 0, 100);
+        Processus long2 = processus("P3", 0, 300);
+        srtf.ajouter(long1, 0);
+        srtf.ajouter(court, 0);
+        srtf.ajouter(long2, 0);
+        // Le plus court d'abord, puis l'ordre d'arrivée à durée égale
+        assertSame(court, srtf.retirer());
+        assertSame(long1, srtf.retirer());
+
+        // P1 calcule depuis t=0 : à t=250 il lui reste 50 ms, moins que les 300 ms de P3
+        long1.debutTranche = 0;
+        assertFalse(srtf.doitPreempter(long1, 250));
+        Processus tresCourt = processus("P4", 0, 20);
+        srtf.ajouter(tresCourt, 250);
+        assertTrue(srtf.doitPreempter(long1, 250));
+        assertFalse(politique("SJF").doitPreempter(long1, 250));
+    }
+
+    @Test
+    void testPrioriteAvecVieillissement() {
+        PolitiqueOrdonnancement priorite = politique("PRIORITE");
+        Processus ancien = processus("P1", 5, 100);
+        Processus urgent = processus("P2", 2, 100);
+        // P1 attend depuis t=0 : à t=400 il a gagné 4 niveaux et passe devant P2 (priorité 2)
+        priorite.ajouter(ancien, 0);
+        priorite.ajouter(urgent, 400);
+        assertSame(ancien, priorite.retirer());
+        assertSame(urgent, priorite.retirer());
+
+        // Un processus plus prioritaire qui arrive préempte le processus en cours
+        Processus enCours = processus("P3", 4, 100);
+        priorite.ajouter(processus("P4", 3, 100), 500);
+        assertTrue(priorite.doitPreempter(enCours, 500));
+        priorite.retirer();
+        priorite.ajouter(processus("P5", 6, 100), 500);
+        assertFalse(priorite.doitPreempter(enCours, 500));
+    }
+}
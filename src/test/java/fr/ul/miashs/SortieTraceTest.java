@@ -0,0 +1,139 @@
+package fr.ul.miashs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class SortieTraceTest {
+
+    @Test
+    void testFormatTexte() {
+        StringWriter sortie = new StringWriter();
+        try (SortieTrace trace = new SortieTrace.Texte(sortie, true)) {
+            trace.execution(-1, 0, 200, 0, "P1");
+            trace.defautPage(-1, 350, 10, true, 1, "P2");
+            trace.ecritureDisque(-1, 400, 10, 100, 1, "P2");
+            trace.inactivite(1, 550, 600);
+        }
+        String n = System.lineSeparator();
+        assertEquals("0 - 200 : Processus P1" + n
+                + "350 : Défaut de page (ECRITURE) - Processus P2 bloqué" + n
+                + "[CPU 1] 550 - 600 : Inactivité" + n, sortie.toString());
+    }
+
+    @Test
+    void testTraceAsynchroneConserveLOrdre() {
+        // Assez d'éléments pour remplir plusieurs fois tous les lots
+        int nombre = 100_000;
+        StringWriter sortie = new StringWriter();
+        try (SortieTrace trace = new TraceAsynchrone(new SortieTrace.Texte(sortie, true))) {
+            for (int i = 0; i < nombre; i++) {
+                trace.execution(-1, i, i + 1, 0, "P");
+            }
+        }
+        String[] lignes = sortie.toString().split(System.lineSeparator());
+        assertEquals(nombre, lignes.length);
+        for (int i = 0; i < nombre; i += 9973) {
+            assertEquals(i + " - " + (i + 1) + " : Processus P", lignes[i]);
+        }
+        assertEquals((nombre - 1) + " - " + nombre + " : Processus P", lignes[nombre - 1]);
+    }
+
+    // Destination qui échoue au premier élément, en retenant sa fermeture
+    private static final class DestinationEnPanne implements SortieTrace {
+        private final RuntimeException exception;
+        private final Error erreur;
+        volatile boolean fermee;
+
+        DestinationEnPanne(RuntimeException exception, Error erreur) {
+            this.exception = exception;
+            this.erreur = erreur;
+        }
+
+        @Override
+        public void execution(int processeur, int debut, int fin, int numero, String processus) {
+            if (erreur != null) throw erreur;
+            throw exception;
+        }
+
+        @Override
+        public void inactivite(int processeur, int debut, int fin) {
+        }
+
+        @Override
+        public void defautPage(int processeur, int temps, int page, boolean ecriture, int numero, String processus) {
+        }
+
+        @Override
+        public void ecritureDisque(int processeur, int temps, int piste, int duree, int numero, String processus) {
+        }
+
+        @Override
+        public void close() {
+            fermee = true;
+        }
+    }
+
+    private static void remplir(SortieTrace trace) {
+        try (SortieTrace t = trace) {
+            for (int i = 0; i < 100_000; i++) {
+                t.execution(-1, i, i + 1, 0, "P");
+            }
+        }
+    }
+
+    @Test
+    void testTraceAsynchroneErreurEcriture() {
+        // L'erreur de la destination est signalée au simulateur et la destination est quand même fermée
+        DestinationEnPanne destination = new DestinationEnPanne(new IllegalStateException("disque plein"), null);
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> remplir(new TraceAsynchrone(destination))));
+        assertEquals("disque plein", e.getMessage());
+        assertTrue(destination.fermee);
+    }
+
+    @Test
+    void testTraceAsynchroneFilArrete() {
+        // Une Error arrête le fil d'écriture : le simulateur ne doit pas rester bloqué sur les lots
+        DestinationEnPanne destination = new DestinationEnPanne(null, new StackOverflowError("panne"));
+        StackOverflowError e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(StackOverflowError.class, () -> remplir(new TraceAsynchrone(destination))));
+        assertEquals("panne", e.getMessage());
+        assertTrue(destination.fermee);
+    }
+
+    @Test
+    void testTraceBinaireRelue(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("trace.bin");
+        try (SortieTrace trace = new TraceBinaire(fichier)) {
+            trace.execution(-1, 0, 200, 0, "P1");
+            trace.defautPage(-1, 350, 10, true, 1, "Processus-é");
+            trace.ecritureDisque(-1, 400, 10, 100, 1, "Processus-é");
+            trace.inactivite(-1, 550, 600);
+        }
+        try (LecteurTraceBinaire lecteur = new LecteurTraceBinaire(fichier)) {
+            assertEquals(4, lecteur.nombreEnregistrements());
+            assertEquals(TraceBinaire.DEFAUT_ECRITURE, lecteur.nature(1));
+            assertEquals(350, lecteur.temps(1));
+            assertEquals(10, lecteur.valeur(1));
+            assertEquals("Processus-é", lecteur.nom(lecteur.processus(1)));
+            assertEquals(100, lecteur.duree(2));
+            assertEquals(-1, lecteur.processeur(3));
+
+            // La conversion au format texte redonne la trace d'origine
+            StringWriter sortie = new StringWriter();
+            try (SortieTrace texte = new SortieTrace.Texte(sortie, true)) {
+                lecteur.rejouer(texte);
+            }
+            String n = System.lineSeparator();
+            assertEquals("0 - 200 : Processus P1" + n
+                    + "350 : Défaut de page (ECRITURE) - Processus Processus-é bloqué" + n
+                    + "550 - 600 : Inactivité" + n, sortie.toString());
+        }
+    }
+}